@@ -0,0 +1,223 @@
+package ru.practicum.shareit.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class AdmissionFilter implements Filter, MeterBinder {
+    private static final String SERVER_BUSY = "{\"error\":\"Server is busy, please retry later\"}";
+
+    private static final String ADMITTED_ATTRIBUTE = AdmissionFilter.class.getName() + ".ADMITTED";
+
+    private final Semaphore permits;
+    private final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxConcurrentCalls;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private Counter rejected;
+
+    public AdmissionFilter(AdmissionProperties properties) {
+        this.maxConcurrentCalls = properties.getMaxConcurrentCalls();
+        this.maxQueued = properties.getMaxQueued();
+        this.queueTimeoutMillis = properties.getQueueTimeout().toMillis();
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.gateway.admission.in-flight", this, f -> f.maxConcurrentCalls - f.permits.availablePermits())
+                .description("Requests currently calling the server")
+                .register(registry);
+        Gauge.builder("shareit.gateway.admission.queued", queued, AtomicInteger::get)
+                .description("Requests parked until a server call slot frees up")
+                .register(registry);
+        rejected = Counter.builder("shareit.gateway.admission.rejected")
+                .description("Requests rejected because the queue was full or the wait timed out")
+                .register(registry);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (Boolean.TRUE.equals(request.getAttribute(ADMITTED_ATTRIBUTE))) {
+                request.removeAttribute(ADMITTED_ATTRIBUTE);
+                runAdmitted(request, response, chain);
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+
+        if (permits.tryAcquire()) {
+            runAdmitted(request, response, chain);
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            reject((HttpServletResponse) response);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(queueTimeoutMillis);
+        Ticket ticket = new Ticket(asyncContext);
+        asyncContext.addListener(ticket);
+        queue.add(ticket);
+        drain();
+    }
+
+    private void runAdmitted(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                release();
+            }
+        }
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            Ticket ticket = queue.poll();
+            if (ticket == null) {
+                permits.release();
+                return;
+            }
+            if (ticket.claim()) {
+                queued.decrementAndGet();
+                dispatch(ticket);
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private void dispatch(Ticket ticket) {
+        try {
+            ticket.asyncContext.getRequest().setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+            ticket.asyncContext.dispatch();
+        } catch (IllegalStateException e) {
+            log.debug("Parked request finished before it could be admitted", e);
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(SERVER_BUSY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private class Ticket implements AsyncListener {
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Ticket(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            abandon(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            abandon(false);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void abandon(boolean respond) throws IOException {
+            if (!claim()) {
+                return;
+            }
+            queue.remove(this);
+            queued.decrementAndGet();
+            log.warn("Request waited longer than {} ms for a server call slot", queueTimeoutMillis);
+            if (respond) {
+                reject((HttpServletResponse) asyncContext.getResponse());
+            }
+            asyncContext.complete();
+        }
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void releaseOnce() {
+            if (done.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.admission")
+public class AdmissionProperties {
+    private boolean enabled = false;
+    private int maxConcurrentCalls = 100;
+    private int maxQueued = 5000;
+    private Duration queueTimeout = Duration.ofSeconds(30);
+}
@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.BookingStatusMismatchException;
@@ -24,7 +26,7 @@ public class BookingController {
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
 	@PostMapping
-	public ResponseEntity<Object> createBooking(
+	public Mono<ResponseEntity<Object>> createBooking(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Create booking {}, userId={}", requestDto, userId);
@@ -32,7 +34,7 @@ public class BookingController {
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> updateBooking(
+	public Mono<ResponseEntity<Object>> updateBooking(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@PathVariable long bookingId,
 			@RequestParam Boolean approved) {
@@ -41,7 +43,7 @@ public class BookingController {
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(
+	public Mono<ResponseEntity<Object>> getBooking(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
@@ -49,26 +51,30 @@ public class BookingController {
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(
+	public ResponseEntity<StreamingResponseBody> getBookings(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-			@Positive @RequestParam(defaultValue = "10") Integer size) {
+			@Positive @RequestParam(defaultValue = "10") Integer size,
+			@RequestParam(required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new BookingStatusMismatchException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}",
+				stateParam, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getItemsOwnerBookings(
+	public ResponseEntity<StreamingResponseBody> getItemsOwnerBookings(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-			@Positive @RequestParam(defaultValue = "10") Integer size) {
+			@Positive @RequestParam(defaultValue = "10") Integer size,
+			@RequestParam(required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new BookingStatusMismatchException("Unknown state: " + stateParam));
-		log.info("Get booking owner with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getItemsOwnerBookings(userId, state, from, size);
+		log.info("Get booking owner with state {}, userId={}, from={}, size={}, cursor={}",
+				stateParam, userId, from, size, cursor);
+		return bookingClient.getItemsOwnerBookings(userId, state, from, size, cursor);
 	}
 }
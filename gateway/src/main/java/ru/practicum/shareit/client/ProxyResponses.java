@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class ProxyResponses {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+    private static final List<String> NOT_MODIFIED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LOCATION, HttpHeaders.DATE, HttpHeaders.EXPIRES,
+            HttpHeaders.VARY);
+
+    private ProxyResponses() {
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    static ResponseEntity<Object> toGatewayResponse(int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(passThroughHeaders(headers));
+
+        if (body != null) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+
+    static void applyStatusAndHeaders(HttpServletResponse response, int status, HttpHeaders headers) {
+        response.setStatus(status);
+        passThroughHeaders(headers).forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+
+    static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response,
+                                                      @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || !response.getStatusCode().is2xxSuccessful()
+                || !etagMatches(ifNoneMatch, etag)) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        NOT_MODIFIED_HEADERS.forEach(name -> {
+            List<String> values = response.getHeaders().get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeakPrefix(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static HttpHeaders passThroughHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    result.addAll(name, values);
+                }
+            });
+        }
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class ResponseCache {
+    @Nullable
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean coalesce;
+    private final Counter coalesced;
+
+    public ResponseCache(@Nullable Cache<Key, ResponseEntity<Object>> cache, boolean coalesce,
+                         MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.coalesce = coalesce;
+        this.coalesced = Counter.builder("shareit.gateway.requests.coalesced")
+                .description("GET requests that joined an identical request already in flight to the server")
+                .register(meterRegistry);
+    }
+
+    public Region region(String family, String... dependentFamilies) {
+        Set<String> invalidatedFamilies = new HashSet<>(Set.of(dependentFamilies));
+        invalidatedFamilies.add(family);
+        return new Region(family, Set.copyOf(invalidatedFamilies));
+    }
+
+    private Mono<ResponseEntity<Object>> get(Key key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (cache == null) {
+            return join(key, loader);
+        }
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = generation(key.getFamily()).get();
+            return join(key, () -> loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && generation(key.getFamily()).get() == generation) {
+                    cache.put(key, response);
+                }
+            }));
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> join(Key key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!coalesce) {
+            return loader.get();
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean started = new AtomicBoolean();
+            Mono<ResponseEntity<Object>> flight = inFlight.computeIfAbsent(key, k -> {
+                started.set(true);
+                return share(k, loader);
+            });
+            if (!started.get()) {
+                coalesced.increment();
+            }
+            return flight;
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> share(Key key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        AtomicReference<Mono<ResponseEntity<Object>>> flight = new AtomicReference<>();
+        flight.set(loader.get()
+                .doFinally(signal -> inFlight.remove(key, flight.get()))
+                .cache());
+        return flight.get();
+    }
+
+    private void invalidate(Set<String> families) {
+        inFlight.keySet().removeIf(key -> families.contains(key.getFamily()));
+        if (cache == null) {
+            return;
+        }
+        families.forEach(family -> generation(family).incrementAndGet());
+        cache.asMap().keySet().removeIf(key -> families.contains(key.getFamily()));
+    }
+
+    private AtomicLong generation(String family) {
+        return generations.computeIfAbsent(family, f -> new AtomicLong());
+    }
+
+    @Value
+    static class Key {
+        String family;
+        String path;
+        Map<String, Object> parameters;
+        @Nullable
+        Long userId;
+    }
+
+    public final class Region {
+        private final String family;
+        private final Set<String> invalidatedFamilies;
+
+        private Region(String family, Set<String> invalidatedFamilies) {
+            this.family = family;
+            this.invalidatedFamilies = invalidatedFamilies;
+        }
+
+        Mono<ResponseEntity<Object>> join(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters,
+                                          Supplier<Mono<ResponseEntity<Object>>> loader) {
+            return ResponseCache.this.join(
+                    new Key(family, path, parameters != null ? parameters : Map.of(), userId), loader);
+        }
+
+        Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters,
+                                         Supplier<Mono<ResponseEntity<Object>>> loader) {
+            return ResponseCache.this.get(
+                    new Key(family, path, parameters != null ? parameters : Map.of(), userId), loader);
+        }
+
+        void invalidate() {
+            ResponseCache.this.invalidate(invalidatedFamilies);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+    private static final ThreadLocal<byte[]> STREAM_BUFFER = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> makeAndSendRequest(method, path, userId, parameters, body));
+    }
+
+    @Override
+    public StreamingResponseBody getStream(String path, long userId, Map<String, Object> parameters,
+                                           @Nullable String ifNoneMatch, HttpServletResponse response) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        return out -> {
+            try (ClientHttpResponse upstream = openStream(uri, userId, ifNoneMatch)) {
+                ProxyResponses.applyStatusAndHeaders(response, upstream.getRawStatusCode(), upstream.getHeaders());
+                copy(upstream.getBody(), out);
+            }
+        };
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        return Mono.fromCallable(() -> sendStream(path, userId, contentType, body));
+    }
+
+    private ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, @Nullable Long userId,
+                                                      @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, ProxyResponses.defaultHeaders(userId));
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e);
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private ClientHttpResponse openStream(URI uri, long userId, @Nullable String ifNoneMatch) {
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().addAll(ProxyResponses.defaultHeaders(userId));
+            if (ifNoneMatch != null) {
+                request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+            return request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private ResponseEntity<Object> sendStream(String path, long userId, MediaType contentType, InputStream body) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().addAll(ProxyResponses.defaultHeaders(userId));
+                request.getHeaders().setContentType(contentType);
+                StreamUtils.copy(body, request.getBody());
+            }, rest.responseEntityExtractor(byte[].class));
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e);
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = STREAM_BUFFER.get();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        out.flush();
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        return ProxyResponses.toGatewayResponse(response.getStatusCodeValue(), response.getHeaders(),
+                response.getBody());
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCodeException e) {
+        return ProxyResponses.toGatewayResponse(e.getRawStatusCode(), e.getResponseHeaders(),
+                e.getResponseBodyAsByteArray());
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
+import java.util.Map;
+
+public interface ServerTransport {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    StreamingResponseBody getStream(String path, long userId, Map<String, Object> parameters,
+                                    @Nullable String ifNoneMatch, HttpServletResponse response);
+
+    Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body);
+}
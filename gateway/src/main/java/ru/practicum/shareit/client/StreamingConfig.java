@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableConfigurationProperties(StreamingProperties.class)
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private static final String EXECUTOR_NAME = "shareit.gateway.streaming";
+
+    private final StreamingProperties properties;
+
+    public StreamingConfig(StreamingProperties properties) {
+        this.properties = properties;
+    }
+
+    // Each running stream holds one server connection, keep pool-size below the connection pool's max-total.
+    // Once the queue is full streams run on the request thread, which pushes back on new connections.
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("shareit-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder streamingTaskExecutorMetrics(ThreadPoolTaskExecutor streamingTaskExecutor) {
+        return registry -> new ExecutorServiceMetrics(streamingTaskExecutor.getThreadPoolExecutor(), EXECUTOR_NAME,
+                Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(properties.getTimeout().toMillis());
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.streaming")
+public class StreamingProperties {
+    private int poolSize = 100;
+    private int queueCapacity = 1000;
+    private Duration timeout = Duration.ofSeconds(60);
+}
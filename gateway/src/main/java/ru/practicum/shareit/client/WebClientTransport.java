@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+public class WebClientTransport implements ServerTransport {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(ProxyResponses.defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(WebClientTransport::prepareGatewayResponse);
+    }
+
+    @Override
+    public StreamingResponseBody getStream(String path, long userId, Map<String, Object> parameters,
+                                           @Nullable String ifNoneMatch, HttpServletResponse response) {
+        return out -> webClient.get()
+                .uri(path, parameters)
+                .headers(headers -> {
+                    headers.addAll(ProxyResponses.defaultHeaders(userId));
+                    if (ifNoneMatch != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                    }
+                })
+                .retrieve()
+                .onStatus(status -> true, upstream -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(upstream -> copy(upstream, response, out))
+                .block();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        Flux<DataBuffer> content = DataBufferUtils.readInputStream(
+                        () -> body, DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        return webClient.post()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(ProxyResponses.defaultHeaders(userId));
+                    headers.setContentType(contentType);
+                })
+                .body(content, DataBuffer.class)
+                .exchangeToMono(WebClientTransport::prepareGatewayResponse);
+    }
+
+    private static Mono<Void> copy(ResponseEntity<Flux<DataBuffer>> upstream, HttpServletResponse response,
+                                   OutputStream out) {
+        ProxyResponses.applyStatusAndHeaders(response, upstream.getStatusCodeValue(), upstream.getHeaders());
+        Flux<DataBuffer> body = upstream.getBody() != null ? upstream.getBody() : Flux.empty();
+        return DataBufferUtils.write(body, out)
+                .doOnNext(DataBufferUtils::release)
+                .then();
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .map(body -> ProxyResponses.toGatewayResponse(response.rawStatusCode(),
+                        response.headers().asHttpHeaders(), body))
+                .defaultIfEmpty(ProxyResponses.toGatewayResponse(response.rawStatusCode(),
+                        response.headers().asHttpHeaders(), null));
+    }
+}
@@ -1,16 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -18,45 +21,61 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache.region(API_PREFIX, "/requests"));
     }
 
-    public ResponseEntity<Object> createItem(ItemRequestDto requestDto, long userId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemRequestDto requestDto, long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemRequestDto requestDto, long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> importItems(MediaType contentType, InputStream rows, long userId) {
+        return postStream("/batch", userId, contentType, rows);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemRequestDto requestDto, long itemId, long userId) {
         return patch("/" + itemId, userId, requestDto);
     }
 
-    public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long userId) {
+        return getCached("/" + itemId, userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(long itemId, long userId, LocalDateTime from,
+                                                            LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
+    public ResponseEntity<StreamingResponseBody> getItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return getStream("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItem(String text,long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItem(String text,long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCachedShared("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> suggestItemNames(String text, long userId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "size", size
+        );
+        return get("/suggest?text={text}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long itemId, long userId, CommentRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createComment(long itemId, long userId, CommentRequestDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 }
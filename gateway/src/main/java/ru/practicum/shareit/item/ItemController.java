@@ -2,16 +2,24 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -23,15 +31,24 @@ public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createItem(
+    public Mono<ResponseEntity<Object>> createItem(
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestBody @Valid ItemRequestDto requestDto) {
         log.info("Create item {}, userId={}", requestDto, userId);
         return itemClient.createItem(requestDto, userId);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream rows) {
+        log.info("Import items, userId={}, contentType={}", userId, contentType);
+        return itemClient.importItems(contentType, rows, userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long itemId,
             @RequestBody ItemRequestDto requestDto) {
@@ -40,15 +57,25 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(
+    public Mono<ResponseEntity<Object>> getItem(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long itemId) {
         log.info("Get item {}, userId={}", itemId, userId);
         return itemClient.getItem(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @PathVariable long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability of item {}, userId={}, from={}, to={}", itemId, userId, from, to);
+        return itemClient.getItemAvailability(itemId, userId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getItems(
+    public ResponseEntity<StreamingResponseBody> getItems(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
             @Positive @RequestParam(defaultValue = "10") Integer size) {
@@ -57,17 +84,26 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(
+    public Mono<ResponseEntity<Object>> searchItem(
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestParam String text,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
+            @Positive @Max(100) @RequestParam(defaultValue = "10") Integer size) {
         log.info("Search items, text={}, userId={}, from={}, size={}", text, userId, from, size);
         return itemClient.searchItem(text, userId, from, size);
     }
 
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggestItemNames(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam String text,
+            @Positive @Max(50) @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Suggest item names, text={}, userId={}, size={}", text, userId, size);
+        return itemClient.suggestItemNames(text, userId, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long itemId,
             @Valid @RequestBody CommentRequestDto requestDto) {
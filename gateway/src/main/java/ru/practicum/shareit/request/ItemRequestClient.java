@@ -1,13 +1,13 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import java.util.Map;
@@ -18,31 +18,33 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache.region(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getUserItemRequests(long userId) {
-        return get("", userId);
+    public ResponseEntity<StreamingResponseBody> getUserItemRequests(long userId) {
+        return getStream("", userId, Map.of());
     }
 
-    public ResponseEntity<Object> getItemRequests(long userId, Integer from, Integer size) {
+    public ResponseEntity<StreamingResponseBody> getItemRequests(long userId, Integer from, Integer size,
+                                                                  String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size);
+            return getStream("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getStream("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long requestId, long userId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequest(long requestId, long userId) {
+        return getCached("/" + requestId, userId, null);
     }
 }
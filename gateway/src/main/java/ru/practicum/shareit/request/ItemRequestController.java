@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import javax.validation.Valid;
@@ -22,7 +24,7 @@ public class ItemRequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public Mono<ResponseEntity<Object>> createItemRequest(
             @RequestHeader(USER_ID_HEADER) long userId,
             @Valid @RequestBody ItemRequestRequestDto requestDto) {
         log.info("Create item request {}, userId={}", requestDto, userId);
@@ -30,23 +32,24 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItemRequests(
+    public ResponseEntity<StreamingResponseBody> getUserItemRequests(
             @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Get user {} item requests", userId);
         return itemRequestClient.getUserItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequests(
+    public ResponseEntity<StreamingResponseBody> getItemRequests(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get item requests, userId={}", userId);
-        return itemRequestClient.getItemRequests(userId, from, size);
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Get item requests, userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemRequestClient.getItemRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(
+    public Mono<ResponseEntity<Object>> getItemRequest(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long requestId) {
         log.info("Get item request {}", requestId);
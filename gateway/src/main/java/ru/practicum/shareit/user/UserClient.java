@@ -1,13 +1,12 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 @Service
@@ -15,32 +14,27 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache.region(API_PREFIX, "/items", "/requests"));
     }
 
-    public ResponseEntity<Object> createUser(UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserRequestDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> updateUser(long id, UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> updateUser(long id, UserRequestDto requestDto) {
         return patch("/" + id, requestDto);
     }
 
-    public ResponseEntity<Object> getUserById(long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getUserById(long id) {
+        return getCachedShared("/" + id, null, null);
     }
 
-    public ResponseEntity<Object> deleteUser(long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(long id) {
         return delete("/" + id);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import javax.validation.Valid;
@@ -19,14 +20,14 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(
+    public Mono<ResponseEntity<Object>> createUser(
             @RequestBody @Valid UserRequestDto requestDto) {
         log.info("Create user {}", requestDto);
         return userClient.createUser(requestDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @RequestBody UserRequestDto requestDto,
             @PathVariable long id) {
         log.info("Update user {}", id);
@@ -34,21 +35,21 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(
+    public Mono<ResponseEntity<Object>> getUserById(
             @PathVariable long id) {
         log.info("Get user {}", id);
         return userClient.getUserById(id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(
+    public Mono<ResponseEntity<Object>> deleteUser(
             @PathVariable long id) {
         log.info("Delete user {}", id);
         return userClient.deleteUser(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("Get users");
         return userClient.getAllUsers();
     }
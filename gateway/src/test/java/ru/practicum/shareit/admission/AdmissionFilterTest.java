@@ -0,0 +1,210 @@
+package ru.practicum.shareit.admission;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.cache.enabled=false",
+        "shareit-server.cache.coalesce=false",
+        "shareit-server.admission.enabled=true",
+        "shareit-server.admission.max-concurrent-calls=1",
+        "shareit-server.admission.max-queued=1",
+        "shareit-server.admission.queue-timeout=1s"
+})
+class AdmissionFilterTest {
+    private static final String USER = "{\"id\":1,\"name\":\"User name\",\"email\":\"user@mail.com\"}";
+    private static final String SERVER_BUSY = "{\"error\":\"Server is busy, please retry later\"}";
+
+    private static HttpServer server;
+    private static volatile CountDownLatch slowCall = new CountDownLatch(0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/users", exchange -> {
+            if (exchange.getRequestURI().getPath().equals("/users/2")) {
+                await(slowCall);
+            }
+            respond(exchange, USER);
+        });
+        server.createContext("/requests", exchange -> respond(exchange, "[]"));
+        server.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        slowCall = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        slowCall.countDown();
+        awaitGauge("shareit.gateway.admission.in-flight", 0);
+    }
+
+    @Test
+    void queuedRequestRunsWhenSlotFreesUpTest() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = sendAsync("/users/2");
+        awaitGauge("shareit.gateway.admission.in-flight", 1);
+        CompletableFuture<HttpResponse<String>> queued = sendAsync("/users/1");
+        awaitGauge("shareit.gateway.admission.queued", 1);
+
+        assertFalse(queued.isDone());
+
+        slowCall.countDown();
+
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, queued.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(USER, queued.get().body());
+        awaitGauge("shareit.gateway.admission.queued", 0);
+    }
+
+    @Test
+    void queuedRequestTimesOutTest() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = sendAsync("/users/2");
+        awaitGauge("shareit.gateway.admission.in-flight", 1);
+        double rejected = rejectedCount();
+
+        HttpResponse<String> response = send("/users/1");
+
+        assertEquals(503, response.statusCode());
+        assertEquals(SERVER_BUSY, response.body());
+        assertEquals(rejected + 1, rejectedCount());
+        awaitGauge("shareit.gateway.admission.queued", 0);
+
+        slowCall.countDown();
+
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void fullQueueRejectsImmediatelyTest() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = sendAsync("/users/2");
+        awaitGauge("shareit.gateway.admission.in-flight", 1);
+        CompletableFuture<HttpResponse<String>> queued = sendAsync("/users/1");
+        awaitGauge("shareit.gateway.admission.queued", 1);
+
+        long started = System.nanoTime();
+        HttpResponse<String> response = send("/users/1");
+
+        assertEquals(503, response.statusCode());
+        assertEquals(SERVER_BUSY, response.body());
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(500));
+
+        slowCall.countDown();
+
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, queued.get(10, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void streamingResponseReleasesSlotTest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response = send("/requests");
+
+            assertEquals(200, response.statusCode());
+            assertEquals("[]", response.body());
+            awaitGauge("shareit.gateway.admission.in-flight", 0);
+        }
+    }
+
+    @Test
+    void asyncResponseReleasesSlotTest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response = send("/users/1");
+
+            assertEquals(200, response.statusCode());
+            assertEquals(USER, response.body());
+            awaitGauge("shareit.gateway.admission.in-flight", 0);
+        }
+    }
+
+    private HttpResponse<String> send(String path) throws IOException, InterruptedException {
+        return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(String path) {
+        return client.sendAsync(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private double rejectedCount() {
+        return meterRegistry.get("shareit.gateway.admission.rejected").counter().count();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        double value = meterRegistry.get(name).gauge().value();
+        while (value != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            value = meterRegistry.get(name).gauge().value();
+        }
+        assertEquals(expected, value, name);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProxyResponsesTest {
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private ResponseEntity<Object> response;
+
+    @BeforeEach
+    void beforeEach() {
+        response = ResponseEntity.ok()
+                .eTag(ETAG)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(5)))
+                .varyBy("X-Sharer-User-Id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"id\":1}");
+    }
+
+    @Test
+    void notModifiedIfMatchesReturnsNotModifiedForMatchingTagTest() {
+        ResponseEntity<Object> notModified = ProxyResponses.notModifiedIfMatches(response, ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(ETAG, notModified.getHeaders().getETag());
+        assertEquals("max-age=5", notModified.getHeaders().getCacheControl());
+        assertEquals(List.of("X-Sharer-User-Id"), notModified.getHeaders().getVary());
+        assertFalse(notModified.getHeaders().containsKey(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void notModifiedIfMatchesComparesWeaklyTest() {
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                ProxyResponses.notModifiedIfMatches(response, "W/" + ETAG).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                ProxyResponses.notModifiedIfMatches(weakResponse(), ETAG).getStatusCode());
+    }
+
+    @Test
+    void notModifiedIfMatchesAcceptsTagListAndWildcardTest() {
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                ProxyResponses.notModifiedIfMatches(response, "\"other\", " + ETAG).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                ProxyResponses.notModifiedIfMatches(response, "*").getStatusCode());
+    }
+
+    @Test
+    void notModifiedIfMatchesKeepsResponseOtherwiseTest() {
+        assertSame(response, ProxyResponses.notModifiedIfMatches(response, null));
+        assertSame(response, ProxyResponses.notModifiedIfMatches(response, "\"other\""));
+
+        ResponseEntity<Object> untagged = ResponseEntity.ok("{\"id\":1}");
+        assertSame(untagged, ProxyResponses.notModifiedIfMatches(untagged, "*"));
+
+        ResponseEntity<Object> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).eTag(ETAG).build();
+        assertSame(notFound, ProxyResponses.notModifiedIfMatches(notFound, ETAG));
+    }
+
+    private ResponseEntity<Object> weakResponse() {
+        return ResponseEntity.ok()
+                .eTag("W/" + ETAG)
+                .body("{\"id\":1}");
+    }
+}
@@ -0,0 +1,269 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseCacheTest {
+    private static final String CACHE_NAME = "test.responses";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+    private Cache<ResponseCache.Key, ResponseEntity<Object>> cache;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(5))
+                .maximumSize(3)
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        responseCache = new ResponseCache(cache, false, meterRegistry);
+    }
+
+    @Test
+    void getCachesSuccessfulResponseUntilTtlTest() {
+        ResponseCache.Region users = responseCache.region("users");
+
+        users.get("/1", null, null, this::load).block();
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        ResponseEntity<Object> cached = users.get("/1", null, null, this::load).block();
+
+        assertEquals(1, calls.get());
+        assertEquals("response 1", cached.getBody());
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        ResponseEntity<Object> reloaded = users.get("/1", null, null, this::load).block();
+
+        assertEquals(2, calls.get());
+        assertEquals("response 2", reloaded.getBody());
+    }
+
+    @Test
+    void getDoesNotCacheErrorResponseTest() {
+        ResponseCache.Region users = responseCache.region("users");
+        Supplier<Mono<ResponseEntity<Object>>> notFound = () -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        });
+
+        users.get("/1", null, null, notFound).block();
+        users.get("/1", null, null, notFound).block();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void getKeepsCacheWithinMaximumSizeTest() {
+        ResponseCache.Region users = responseCache.region("users");
+
+        for (int id = 1; id <= 5; id++) {
+            users.get("/" + id, null, null, this::load).block();
+        }
+        cache.cleanUp();
+
+        assertEquals(3, cache.estimatedSize());
+    }
+
+    @Test
+    void getSeparatesUsersAndParametersTest() {
+        ResponseCache.Region bookings = responseCache.region("bookings");
+
+        bookings.get("/1", 1L, null, this::load).block();
+        bookings.get("/1", 1L, null, this::load).block();
+        bookings.get("/1", 2L, null, this::load).block();
+        bookings.get("/1", 1L, Map.of("state", "ALL"), this::load).block();
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void sharedEntryIsReusedAcrossUsersTest() {
+        ResponseCache.Region users = responseCache.region("users");
+
+        ResponseEntity<Object> first = users.get("/1", null, null, this::load).block();
+        ResponseEntity<Object> second = users.get("/1", null, null, this::load).block();
+
+        assertEquals(1, calls.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void invalidateEvictsOwnAndDependentFamiliesTest() {
+        ResponseCache.Region users = responseCache.region("users");
+        ResponseCache.Region items = responseCache.region("items");
+        ResponseCache.Region bookings = responseCache.region("bookings", "items");
+
+        users.get("/1", null, null, this::load).block();
+        items.get("/1", 1L, null, this::load).block();
+        bookings.get("/1", 1L, null, this::load).block();
+        assertEquals(3, calls.get());
+
+        bookings.invalidate();
+        users.get("/1", null, null, this::load).block();
+        items.get("/1", 1L, null, this::load).block();
+        bookings.get("/1", 1L, null, this::load).block();
+
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void responseLoadedBeforeInvalidationIsNotCachedTest() {
+        ResponseCache.Region items = responseCache.region("items");
+        Supplier<Mono<ResponseEntity<Object>>> racingLoad = () -> load()
+                .doOnNext(response -> items.invalidate());
+
+        items.get("/1", 1L, null, racingLoad).block();
+        items.get("/1", 1L, null, this::load).block();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    void getRecordsHitAndMissMetricsTest() {
+        ResponseCache.Region users = responseCache.region("users");
+
+        users.get("/1", null, null, this::load).block();
+        users.get("/1", null, null, this::load).block();
+        users.get("/1", null, null, this::load).block();
+
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+        ResponseCache.Region users = new ResponseCache(null, false, meterRegistry).region("users");
+
+        users.get("/1", null, null, this::load).block();
+        users.get("/1", null, null, this::load).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void joinSharesOneServerCallBetweenConcurrentRequestsTest() {
+        ResponseCache coalescing = new ResponseCache(null, true, meterRegistry);
+        ResponseCache.Region items = coalescing.region("items");
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Supplier<Mono<ResponseEntity<Object>>> pending = () -> server.asMono()
+                .doOnSubscribe(subscription -> calls.incrementAndGet());
+
+        CompletableFuture<ResponseEntity<Object>> first = items.join("/1", 1L, null, pending).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = items.join("/1", 1L, null, pending).toFuture();
+        CompletableFuture<ResponseEntity<Object>> otherUser = items.join("/1", 2L, null, pending).toFuture();
+
+        assertFalse(first.isDone());
+        server.tryEmitValue(ResponseEntity.ok("shared"));
+
+        assertEquals(2, calls.get());
+        assertSame(first.join(), second.join());
+        assertEquals("shared", otherUser.join().getBody());
+        assertEquals(1, meterRegistry.get("shareit.gateway.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void joinStartsNewCallAfterFlightCompletesTest() {
+        ResponseCache.Region items = new ResponseCache(null, true, meterRegistry).region("items");
+
+        items.join("/1", 1L, null, this::load).block();
+        items.join("/1", 1L, null, this::load).block();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, meterRegistry.get("shareit.gateway.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void joinPropagatesFailureToAllWaitersAndForgetsFlightTest() {
+        ResponseCache.Region items = new ResponseCache(null, true, meterRegistry).region("items");
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+
+        CompletableFuture<ResponseEntity<Object>> first = items.join("/1", 1L, null, server::asMono).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = items.join("/1", 1L, null, server::asMono).toFuture();
+        server.tryEmitError(new IllegalStateException("Server unavailable"));
+
+        assertThrows(Exception.class, first::join);
+        assertThrows(Exception.class, second::join);
+        assertEquals("response 1", items.join("/1", 1L, null, this::load).block().getBody());
+    }
+
+    @Test
+    void joinAfterInvalidationStartsNewCallTest() {
+        ResponseCache.Region items = new ResponseCache(null, true, meterRegistry).region("items");
+        Sinks.One<ResponseEntity<Object>> beforeWrite = Sinks.one();
+
+        CompletableFuture<ResponseEntity<Object>> stale = items.join("/1", 1L, null, beforeWrite::asMono).toFuture();
+        items.invalidate();
+        CompletableFuture<ResponseEntity<Object>> fresh = items.join("/1", 1L, null, this::load).toFuture();
+        beforeWrite.tryEmitValue(ResponseEntity.ok("before write"));
+
+        assertEquals(1, calls.get());
+        assertEquals("before write", stale.join().getBody());
+        assertEquals("response 1", fresh.join().getBody());
+        assertEquals(0, meterRegistry.get("shareit.gateway.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void joinWithoutCoalescingCallsServerForEachRequestTest() {
+        ResponseCache.Region items = new ResponseCache(null, false, meterRegistry).region("items");
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Supplier<Mono<ResponseEntity<Object>>> pending = () -> server.asMono()
+                .doOnSubscribe(subscription -> calls.incrementAndGet());
+
+        items.join("/1", 1L, null, pending).toFuture();
+        items.join("/1", 1L, null, pending).toFuture();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cacheMissesOfSameKeyShareOneServerCallTest() {
+        ResponseCache.Region users = new ResponseCache(cache, true, meterRegistry).region("users");
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Supplier<Mono<ResponseEntity<Object>>> pending = () -> server.asMono()
+                .doOnSubscribe(subscription -> calls.incrementAndGet());
+
+        CompletableFuture<ResponseEntity<Object>> first = users.get("/1", null, null, pending).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = users.get("/1", null, null, pending).toFuture();
+        server.tryEmitValue(ResponseEntity.ok("shared"));
+
+        assertEquals(1, calls.get());
+        assertSame(first.join(), second.join());
+        assertSame(first.join(), users.get("/1", null, null, this::load).block());
+    }
+
+    private Mono<ResponseEntity<Object>> load() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok("response " + calls.incrementAndGet()));
+    }
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.streaming.pool-size=1",
+        "shareit-server.streaming.queue-capacity=1"
+})
+class StreamingTest {
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private static HttpServer server;
+    private static final AtomicInteger serverCalls = new AtomicInteger();
+    private static volatile CountDownLatch slowCall = new CountDownLatch(0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ThreadPoolTaskExecutor streamingTaskExecutor;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/requests", exchange -> {
+            serverCalls.incrementAndGet();
+            if (exchange.getRequestURI().getPath().equals("/requests/all")) {
+                await(slowCall);
+            }
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, "[]");
+        });
+        server.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        serverCalls.set(0);
+        slowCall = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        slowCall.countDown();
+        awaitValue(() -> streamingTaskExecutor.getActiveCount(), 0);
+    }
+
+    @Test
+    void streamPassesThroughServerStatusAndHeadersTest() throws Exception {
+        HttpResponse<String> response = send("/requests", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[]", response.body());
+        assertEquals(ETAG, response.headers().firstValue("ETag").orElse(null));
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+    }
+
+    @Test
+    void streamPassesThroughNotModifiedTest() throws Exception {
+        HttpResponse<String> response = send("/requests", ETAG);
+
+        assertEquals(304, response.statusCode());
+        assertEquals("", response.body());
+        assertEquals(ETAG, response.headers().firstValue("ETag").orElse(null));
+    }
+
+    @Test
+    void queuedStreamDoesNotCallServerTest() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = sendAsync("/requests/all");
+        awaitValue(serverCalls::get, 1);
+        CompletableFuture<HttpResponse<String>> queued = sendAsync("/requests");
+        awaitValue(() -> streamingTaskExecutor.getThreadPoolExecutor().getQueue().size(), 1);
+
+        assertEquals(1, serverCalls.get());
+        assertFalse(queued.isDone());
+
+        slowCall.countDown();
+
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals("[]", queued.get(10, TimeUnit.SECONDS).body());
+        assertEquals(2, serverCalls.get());
+    }
+
+    @Test
+    void fullStreamingQueueRunsStreamOnRequestThreadTest() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = sendAsync("/requests/all");
+        awaitValue(serverCalls::get, 1);
+        CompletableFuture<HttpResponse<String>> queued = sendAsync("/requests");
+        awaitValue(() -> streamingTaskExecutor.getThreadPoolExecutor().getQueue().size(), 1);
+
+        HttpResponse<String> response = send("/requests", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[]", response.body());
+        assertEquals(2, serverCalls.get());
+        assertFalse(queued.isDone());
+
+        slowCall.countDown();
+
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, queued.get(10, TimeUnit.SECONDS).statusCode());
+    }
+
+    private HttpResponse<String> send(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request(path);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(String path) {
+        return client.sendAsync(request(path).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private static void awaitValue(IntSupplier value, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsInt() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, value.getAsInt());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
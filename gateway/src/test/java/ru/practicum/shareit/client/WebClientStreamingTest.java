@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.client=web-client",
+        "shareit-server.streaming.pool-size=1",
+        "shareit-server.streaming.queue-capacity=1"
+})
+class WebClientStreamingTest extends StreamingTest {
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 @SpringBootApplication
 public class ShareItServer {
@@ -10,4 +12,9 @@ public class ShareItServer {
 		SpringApplication.run(ShareItServer.class, args);
 	}
 
+	@Bean
+	public ShallowEtagHeaderFilter etagFilter() {
+		return new ShallowEtagHeaderFilter();
+	}
+
 }
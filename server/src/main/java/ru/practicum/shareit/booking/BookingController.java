@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -44,20 +47,32 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoResponse> getBookings(
+    public ResponseEntity<List<BookingDtoResponse>> getBookings(
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingService.getBookings(state, userId, from, size);
+        List<BookingDtoResponse> bookings = cursor == null ?
+                bookingService.getBookings(state, userId, from, size) :
+                bookingService.getBookings(state, userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(bookings, size, BookingController::toPageCursor);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getItemsOwnerBookings(
+    public ResponseEntity<List<BookingDtoResponse>> getItemsOwnerBookings(
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingService.getItemsOwnerBookings(state, userId, from, size);
+        List<BookingDtoResponse> bookings = cursor == null ?
+                bookingService.getItemsOwnerBookings(state, userId, from, size) :
+                bookingService.getItemsOwnerBookings(state, userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(bookings, size, BookingController::toPageCursor);
+    }
+
+    private static PageCursor toPageCursor(BookingDtoResponse booking) {
+        return PageCursor.of(booking.getStart(), booking.getId());
     }
 }
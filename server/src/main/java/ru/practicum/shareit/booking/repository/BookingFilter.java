@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.*;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@Builder
+public class BookingFilter {
+    private Long bookerId;
+    private Long ownerId;
+    private Status status;
+    private LocalDateTime startBefore;
+    private LocalDateTime startAfter;
+    private LocalDateTime endBefore;
+    private LocalDateTime endAfter;
+}
@@ -1,74 +1,60 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(
-            Long userId,
-            PageRequest pageRequest);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long userId,
-            LocalDateTime start,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(
-            Long userId,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
-            Long userId,
-            LocalDateTime start,
-            PageRequest pageRequest);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(
-            Long userId,
-            Status status,
-            PageRequest pageRequest);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(
-            Long userId,
-            PageRequest pageRequest);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @Override
+    @EntityGraph(Booking.FULL_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long userId,
-            LocalDateTime start,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-            Long userId,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(
-            Long userId,
-            LocalDateTime start,
-            PageRequest pageRequest);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
-            Long userId,
-            Status status,
-            PageRequest pageRequest);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.id <> :bookingId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(
+            @Param("itemId") long itemId,
+            @Param("bookingId") long bookingId,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
-    Optional<Booking> findByItemIdAndEndBeforeOrderByEndDesc(
-            Long itemId,
+    List<Booking> findByItemIdAndStatusInAndEndAfter(
+            long itemId,
+            Collection<Status> statuses,
             LocalDateTime end);
 
-    Optional<Booking> findByItemIdAndStartAfterOrderByEndAsc(
-            Long itemId,
-            LocalDateTime end);
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status, version FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.end_date < :now) AS last_bookings " +
+            "WHERE last_bookings.rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastBookingsByItemIds(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status, version FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.start_date > :now) AS next_bookings " +
+            "WHERE next_bookings.rn = 1",
+            nativeQuery = true)
+    List<Booking> findNextBookingsByItemIds(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("now") LocalDateTime now);
 
     List<Booking> findByBookerIdAndItemIdAndStatusAndEndBefore(
             Long userId,
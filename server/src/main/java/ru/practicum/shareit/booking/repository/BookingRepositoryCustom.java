@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findByFilter(BookingFilter filter, PageRequest pageRequest);
+
+    List<Booking> findAfterCursor(BookingFilter filter, PageCursor cursor, int size);
+}
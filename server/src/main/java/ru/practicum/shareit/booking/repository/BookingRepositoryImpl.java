@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String USER_ID = "userId";
+    private static final String STATUS = "status";
+    private static final String START_BEFORE = "startBefore";
+    private static final String START_AFTER = "startAfter";
+    private static final String END_BEFORE = "endBefore";
+    private static final String END_AFTER = "endAfter";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findByFilter(BookingFilter filter, PageRequest pageRequest) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        List<Predicate> predicates = filterPredicates(cb, booking, filter);
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+        return bindFilter(entityManager.createQuery(query), filter)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Booking> findAfterCursor(BookingFilter filter, PageCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        List<Predicate> predicates = filterPredicates(cb, booking, filter);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        predicates.add(cb.or(
+                cb.lessThan(start, cursor.getTimestamp()),
+                cb.and(cb.equal(start, cursor.getTimestamp()), cb.lessThan(id, cursor.getId()))));
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return bindFilter(entityManager.createQuery(query), filter)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    // Every state of a role renders the same statement, unused state bounds are bound as nulls
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Booking> booking, BookingFilter filter) {
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item");
+        item.fetch("owner");
+        item.fetch("request", JoinType.LEFT).fetch("requestor", JoinType.LEFT);
+        booking.fetch("booker");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        ParameterExpression<Status> status = cb.parameter(Status.class, STATUS);
+        ParameterExpression<LocalDateTime> startBefore = cb.parameter(LocalDateTime.class, START_BEFORE);
+        ParameterExpression<LocalDateTime> startAfter = cb.parameter(LocalDateTime.class, START_AFTER);
+        ParameterExpression<LocalDateTime> endBefore = cb.parameter(LocalDateTime.class, END_BEFORE);
+        ParameterExpression<LocalDateTime> endAfter = cb.parameter(LocalDateTime.class, END_AFTER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Path<User> user = filter.getOwnerId() != null ? item.get("owner") : booking.get("booker");
+        predicates.add(cb.equal(user.get("id"), cb.parameter(Long.class, USER_ID)));
+        predicates.add(cb.or(cb.isNull(status), cb.equal(booking.get("status"), status)));
+        predicates.add(cb.or(cb.isNull(startBefore), cb.lessThan(start, startBefore)));
+        predicates.add(cb.or(cb.isNull(startAfter), cb.greaterThan(start, startAfter)));
+        predicates.add(cb.or(cb.isNull(endBefore), cb.lessThan(end, endBefore)));
+        predicates.add(cb.or(cb.isNull(endAfter), cb.greaterThan(end, endAfter)));
+        return predicates;
+    }
+
+    private TypedQuery<Booking> bindFilter(TypedQuery<Booking> query, BookingFilter filter) {
+        return query
+                .setParameter(USER_ID, filter.getOwnerId() != null ? filter.getOwnerId() : filter.getBookerId())
+                .setParameter(STATUS, filter.getStatus())
+                .setParameter(START_BEFORE, filter.getStartBefore())
+                .setParameter(START_AFTER, filter.getStartAfter())
+                .setParameter(END_BEFORE, filter.getEndBefore())
+                .setParameter(END_AFTER, filter.getEndAfter());
+    }
+}
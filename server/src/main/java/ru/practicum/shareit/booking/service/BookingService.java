@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -13,7 +15,11 @@ public interface BookingService {
 
     BookingDtoResponse getBooking(long bookingId, long userId);
 
-    List<BookingDtoResponse> getBookings(String state, long userId, int from, int size);
+    List<BookingDtoResponse> getBookings(BookingState state, long userId, int from, int size);
 
-    List<BookingDtoResponse> getItemsOwnerBookings(String state, long userId, int from, int size);
+    List<BookingDtoResponse> getBookings(BookingState state, long userId, PageCursor cursor, int size);
+
+    List<BookingDtoResponse> getItemsOwnerBookings(BookingState state, long userId, int from, int size);
+
+    List<BookingDtoResponse> getItemsOwnerBookings(BookingState state, long userId, PageCursor cursor, int size);
 }
@@ -1,38 +1,54 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingFilter;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "ex_bookings_item_period";
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
                               ItemRepository itemRepository,
-                              UserRepository userRepository) {
+                              UserRepository userRepository,
+                              ItemBookingLocks itemBookingLocks,
+                              ItemAvailabilityIndex itemAvailabilityIndex) {
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.itemBookingLocks = itemBookingLocks;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
     }
 
     @Override
@@ -44,7 +60,7 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getAvailable()) {
             throw new BookingStatusMismatchException("Item is not available");
         }
-        if (item.getOwner().equals(user)) {
+        if (item.getOwner().getId() == user.getId()) {
             throw new ItemOwnerMismatchException("Owner can not book his own items");
         }
         LocalDateTime now = LocalDateTime.now();
@@ -58,28 +74,50 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setBooker(user);
         booking.setStatus(Status.WAITING);
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        return itemBookingLocks.withItemLock(item.getId(), () -> {
+            checkNoOverlap(booking, ItemAvailabilityIndex.BLOCKING_STATUSES);
+            Booking saved = saveBooking(booking);
+            itemAvailabilityIndex.update(saved, null);
+            return BookingMapper.toBookingDtoResponse(saved);
+        });
     }
 
     @Override
     public BookingDtoResponse updateBooking(long bookingId, boolean approved, long userId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tryUpdateBooking(bookingId, approved, userId);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ConcurrentUpdateException(ErrorHandler.CONCURRENT_UPDATE);
+                }
+            }
+        }
+    }
+
+    private BookingDtoResponse tryUpdateBooking(long bookingId, boolean approved, long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(ErrorHandler.BOOKING_NOT_FOUND));
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
-        if (!user.equals(booking.getItem().getOwner())) {
+        if (booking.getItem().getOwner().getId() != user.getId()) {
             throw new ItemOwnerMismatchException(ErrorHandler.ITEM_OWNER_MISMATCH);
         }
         if (!booking.getStatus().equals(Status.WAITING)) {
             throw new BookingStatusMismatchException("Current booking status is " + booking.getStatus() +
                     ", but should be " + Status.WAITING);
         }
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
-        }
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        return itemBookingLocks.withItemLock(booking.getItem().getId(), () -> {
+            if (approved) {
+                checkNoOverlap(booking, EnumSet.of(Status.APPROVED));
+                booking.setStatus(Status.APPROVED);
+            } else {
+                booking.setStatus(Status.REJECTED);
+            }
+            Booking saved = saveBooking(booking);
+            itemAvailabilityIndex.update(saved, Status.WAITING);
+            return BookingMapper.toBookingDtoResponse(saved);
+        });
     }
 
     @Override
@@ -97,110 +135,91 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDtoResponse> getBookings(String state, long userId, int from, int size) {
-        int page = from / size;
-        PageRequest pageRequest = PageRequest.of(page, size);
+    public List<BookingDtoResponse> getBookings(BookingState state, long userId, int from, int size) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
-        LocalDateTime now = LocalDateTime.now();
-        switch (state) {
-            case "ALL":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdOrderByStartDesc(
-                            userId,
-                            pageRequest
-                        ));
-            case "CURRENT":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                            userId,
-                            now,
-                            now,
-                            pageRequest
-                        ));
-            case "PAST":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                            userId,
-                            now,
-                            pageRequest
-                        ));
-            case "FUTURE":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                            userId,
-                            now,
-                            pageRequest
-                        ));
-            case "WAITING":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                            userId,
-                            Status.WAITING,
-                            pageRequest
-                        ));
-            case "REJECTED":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                            userId,
-                            Status.REJECTED,
-                            pageRequest
-                        ));
-            default:
-                throw new BookingStatusMismatchException("Unknown state: " + state);
-        }
+        BookingFilter filter = stateFilter(state, LocalDateTime.now())
+                .bookerId(userId)
+                .build();
+        return bookingsToBookingDtoResponses(bookingRepository.findByFilter(filter, PageRequest.of(from / size, size)));
     }
 
     @Override
-    public List<BookingDtoResponse> getItemsOwnerBookings(String state, long userId, int from, int size) {
-        int page = from / size;
-        PageRequest pageRequest = PageRequest.of(page, size);
+    public List<BookingDtoResponse> getItemsOwnerBookings(BookingState state, long userId, int from, int size) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
-        LocalDateTime now = LocalDateTime.now();
+        BookingFilter filter = stateFilter(state, LocalDateTime.now())
+                .ownerId(userId)
+                .build();
+        return bookingsToBookingDtoResponses(bookingRepository.findByFilter(filter, PageRequest.of(from / size, size)));
+    }
+
+    @Override
+    public List<BookingDtoResponse> getBookings(BookingState state, long userId, PageCursor cursor, int size) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
+        BookingFilter filter = stateFilter(state, LocalDateTime.now())
+                .bookerId(userId)
+                .build();
+        return bookingsToBookingDtoResponses(bookingRepository.findAfterCursor(filter, cursor, size));
+    }
+
+    @Override
+    public List<BookingDtoResponse> getItemsOwnerBookings(BookingState state, long userId, PageCursor cursor, int size) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
+        BookingFilter filter = stateFilter(state, LocalDateTime.now())
+                .ownerId(userId)
+                .build();
+        return bookingsToBookingDtoResponses(bookingRepository.findAfterCursor(filter, cursor, size));
+    }
+
+    private void checkNoOverlap(Booking booking, Set<Status> blockingStatuses) {
+        boolean isOverlapping = bookingRepository.existsOverlapping(
+                booking.getItem().getId(),
+                booking.getId(),
+                blockingStatuses,
+                booking.getStart(),
+                booking.getEnd());
+        if (isOverlapping) {
+            itemAvailabilityIndex.evict(booking.getItem().getId());
+            throw new BookingOverlapException(ErrorHandler.BOOKING_OVERLAP);
+        }
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(BOOKING_OVERLAP_CONSTRAINT)) {
+                itemAvailabilityIndex.evict(booking.getItem().getId());
+                throw new BookingOverlapException(ErrorHandler.BOOKING_OVERLAP);
+            }
+            throw e;
+        }
+    }
+
+    private BookingFilter.BookingFilterBuilder stateFilter(BookingState state, LocalDateTime now) {
         switch (state) {
-            case "ALL":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdOrderByStartDesc(
-                            userId,
-                            pageRequest
-                        ));
-            case "CURRENT":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                            userId,
-                            now,
-                            now,
-                            pageRequest
-                        ));
-            case "PAST":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                            userId,
-                            now,
-                            pageRequest
-                        ));
-            case "FUTURE":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(
-                            userId,
-                            now,
-                            pageRequest
-                        ));
-            case "WAITING":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                            userId,
-                            Status.WAITING,
-                            pageRequest
-                        ));
-            case "REJECTED":
-                return bookingsToBookingDtoResponses(
-                        bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                            userId,
-                            Status.REJECTED,
-                            pageRequest
-                        ));
+            case ALL:
+                return BookingFilter.builder();
+            case CURRENT:
+                return BookingFilter.builder()
+                        .startBefore(now)
+                        .endAfter(now);
+            case PAST:
+                return BookingFilter.builder()
+                        .endBefore(now);
+            case FUTURE:
+                return BookingFilter.builder()
+                        .startAfter(now);
+            case WAITING:
+                return BookingFilter.builder()
+                        .status(Status.WAITING);
+            case REJECTED:
+                return BookingFilter.builder()
+                        .status(Status.REJECTED);
             default:
                 throw new BookingStatusMismatchException("Unknown state: " + state);
         }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+class IntervalSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] maxEnds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(long id, long start, long end) {
+        if (indexOf(id, start) >= 0) {
+            return;
+        }
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+        int index = countStartsBefore(start + 1);
+        System.arraycopy(starts, index, starts, index + 1, size - index);
+        System.arraycopy(ends, index, ends, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        starts[index] = start;
+        ends[index] = end;
+        ids[index] = id;
+        size++;
+        refreshMaxEnds(index);
+    }
+
+    void remove(long id, long start) {
+        int index = indexOf(id, start);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+        System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        refreshMaxEnds(index);
+    }
+
+    void collect(long from, long to, List<long[]> intervals) {
+        int candidates = countStartsBefore(to);
+        for (int i = firstMaxEndAfter(from, candidates); i < candidates; i++) {
+            if (ends[i] > from) {
+                intervals.add(new long[]{starts[i], ends[i]});
+            }
+        }
+    }
+
+    private int indexOf(long id, long start) {
+        for (int i = countStartsBefore(start); i < size && starts[i] == start; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int countStartsBefore(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstMaxEndAfter(long value, int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void refreshMaxEnds(int from) {
+        for (int i = from; i < size; i++) {
+            maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+    }
+}
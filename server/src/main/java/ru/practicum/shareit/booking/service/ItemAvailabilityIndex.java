@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class ItemAvailabilityIndex {
+
+    static final Set<Status> BLOCKING_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(Status.WAITING, Status.APPROVED));
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final int maxItems;
+    private final ConcurrentMap<Long, ItemSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${shareit.booking.availability.ttl:1m}") Duration ttl,
+                                 @Value("${shareit.booking.availability.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxItems = maxItems;
+    }
+
+    public void update(Booking booking, Status previousStatus) {
+        schedule(booking.getItem().getId()).update(booking, previousStatus);
+    }
+
+    public void evict(long itemId) {
+        schedules.remove(itemId);
+    }
+
+    public List<TimeWindowDto> getFreeWindows(long itemId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        List<long[]> booked = schedule(itemId).collect(fromMicros, toMicros);
+        booked.sort(Comparator.comparingLong(interval -> interval[0]));
+        List<TimeWindowDto> windows = new ArrayList<>();
+        long cursor = fromMicros;
+        for (long[] interval : booked) {
+            if (interval[0] > cursor) {
+                windows.add(new TimeWindowDto(fromMicros(cursor), fromMicros(interval[0])));
+            }
+            cursor = Math.max(cursor, interval[1]);
+            if (cursor >= toMicros) {
+                return windows;
+            }
+        }
+        windows.add(new TimeWindowDto(fromMicros(cursor), to));
+        return windows;
+    }
+
+    private ItemSchedule schedule(long itemId) {
+        long now = System.nanoTime();
+        ItemSchedule schedule = schedules.get(itemId);
+        if (schedule != null && !schedule.isExpired(now, ttlNanos)) {
+            return schedule;
+        }
+        schedule = schedules.compute(itemId, (id, current) ->
+                current != null && !current.isExpired(now, ttlNanos) ? current : load(id, now));
+        if (schedules.size() > maxItems) {
+            trim(now);
+        }
+        return schedule;
+    }
+
+    private ItemSchedule load(long itemId, long now) {
+        ItemSchedule loaded = new ItemSchedule(now);
+        bookingRepository.findByItemIdAndStatusInAndEndAfter(itemId, BLOCKING_STATUSES, LocalDateTime.now())
+                .forEach(booking -> loaded.update(booking, null));
+        return loaded;
+    }
+
+    private void trim(long now) {
+        schedules.values().removeIf(schedule -> schedule.isExpired(now, ttlNanos));
+        Iterator<Long> itemIds = schedules.keySet().iterator();
+        while (schedules.size() > maxItems && itemIds.hasNext()) {
+            itemIds.next();
+            itemIds.remove();
+        }
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    private static class ItemSchedule {
+        private final long loadedAt;
+        private final Map<Status, IntervalSet> intervals = new EnumMap<>(Status.class);
+
+        private ItemSchedule(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - loadedAt >= ttlNanos;
+        }
+
+        private synchronized void update(Booking booking, Status previousStatus) {
+            long start = toMicros(booking.getStart());
+            if (previousStatus != null && intervals.containsKey(previousStatus)) {
+                intervals.get(previousStatus).remove(booking.getId(), start);
+            }
+            if (BLOCKING_STATUSES.contains(booking.getStatus())) {
+                intervals.computeIfAbsent(booking.getStatus(), status -> new IntervalSet())
+                        .add(booking.getId(), start, toMicros(booking.getEnd()));
+            }
+        }
+
+        private synchronized List<long[]> collect(long from, long to) {
+            List<long[]> booked = new ArrayList<>();
+            intervals.values().forEach(set -> set.collect(from, to, booked));
+            return booked;
+        }
+    }
+}
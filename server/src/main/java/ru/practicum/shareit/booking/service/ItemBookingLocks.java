@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class ItemBookingLocks {
+
+    private final Lock[] stripes;
+
+    @Autowired
+    public ItemBookingLocks(@Value("${shareit.booking.lock-stripes:64}") int stripes) {
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withItemLock(long itemId, Supplier<T> action) {
+        Lock lock = stripes[Math.floorMod(Long.hashCode(itemId), stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.practicum.shareit.booking.dto.BookingState;
 
 @RestControllerAdvice
 public class ErrorHandler {
@@ -15,6 +17,9 @@ public class ErrorHandler {
     public static final String ITEM_OWNER_MISMATCH = "User not an item owner";
     public static final String BOOKING_TIME_MISMATCH = "Booking time is incorrect";
     public static final String ITEM_REQUEST_NOT_FOUND = "Item request not found";
+    public static final String PAGE_CURSOR_MALFORMED = "Page cursor is malformed";
+    public static final String BOOKING_OVERLAP = "Item is already booked for the requested period";
+    public static final String CONCURRENT_UPDATE = "Resource was modified concurrently, please retry";
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -57,4 +62,31 @@ public class ErrorHandler {
     public ErrorResponse handleItemRequestNotFoundException(final ItemRequestNotFoundException e) {
         return new ErrorResponse(e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handlePageCursorFormatException(final PageCursorFormatException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdateException(final ConcurrentUpdateException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentTypeMismatchException(final MethodArgumentTypeMismatchException e) {
+        if (e.getRequiredType() == BookingState.class) {
+            return new ErrorResponse("Unknown state: " + e.getValue());
+        }
+        return new ErrorResponse(e.getMessage());
+    }
 }
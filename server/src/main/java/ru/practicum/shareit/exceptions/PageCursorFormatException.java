@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class PageCursorFormatException extends RuntimeException {
+    public PageCursorFormatException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,6 +34,13 @@ public class ItemController {
         return itemService.createItem(itemDto, owner);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemBatchResultDto importItems(
+            InputStream rows,
+            @RequestHeader(USER_ID_HEADER) long owner) throws IOException {
+        return itemService.importItems(rows, owner);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @PathVariable long itemId,
@@ -42,6 +56,14 @@ public class ItemController {
         return itemService.getItem(itemId, owner);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<TimeWindowDto> getItemAvailability(
+            @PathVariable long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemDtoBooking> getItems(
             @RequestParam(required = false, defaultValue = "0") int from,
@@ -58,6 +80,13 @@ public class ItemController {
         return itemService.findItem(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam String text) {
+        return itemService.suggestItemNames(text, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(
             @RequestBody CommentDto commentDto,
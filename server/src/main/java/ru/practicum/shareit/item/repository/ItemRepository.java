@@ -1,21 +1,51 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
+    @Override
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    Optional<Item> findById(Long id);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
     List<Item> findByOwnerIdOrderById(long ownerId, PageRequest pageRequest);
 
-    List<Item> findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(
-            String name,
-            String description,
-            PageRequest pageRequest);
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = TRUE " +
+            "AND (UPPER(i.name) LIKE UPPER(:pattern) ESCAPE '\\' " +
+            "OR UPPER(i.description) LIKE UPPER(:pattern) ESCAPE '\\') " +
+            "ORDER BY CASE " +
+            "WHEN UPPER(i.name) = UPPER(:text) THEN 0 " +
+            "WHEN UPPER(i.name) LIKE UPPER(:prefix) ESCAPE '\\' THEN 1 " +
+            "WHEN UPPER(i.name) LIKE UPPER(:pattern) ESCAPE '\\' THEN 2 " +
+            "WHEN UPPER(i.description) LIKE UPPER(:prefix) ESCAPE '\\' THEN 3 " +
+            "ELSE 4 END, i.id")
+    List<Item> searchAvailable(@Param("text") String text,
+                               @Param("prefix") String prefix,
+                               @Param("pattern") String pattern,
+                               PageRequest pageRequest);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByIdIn(Collection<Long> ids);
 
+    List<Item> findByIdGreaterThanOrderById(long id, PageRequest pageRequest);
+
+    @EntityGraph(attributePaths = "owner")
     List<Item> findByRequestId(long requestId);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
 }
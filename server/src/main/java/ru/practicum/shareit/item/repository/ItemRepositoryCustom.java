@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+    List<Item> insertAll(List<Item> items);
+}
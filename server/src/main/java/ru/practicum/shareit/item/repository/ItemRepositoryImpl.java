@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<Item> insertAll(List<Item> items) {
+        items.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+}
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Component
+public class ItemSearchIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final LongPostingList EMPTY = new LongPostingList();
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private volatile boolean ready;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, LongPostingList> nameTerms = new TreeMap<>();
+    private final NavigableMap<String, LongPostingList> descriptionTerms = new TreeMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.in-memory.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            nameTerms.clear();
+            descriptionTerms.clear();
+            indexedItems.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            index(items);
+            if (!items.isEmpty()) {
+                lastId = items.get(items.size() - 1).getId();
+            }
+        } while (items.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+    }
+
+    public void index(Item item) {
+        index(List.of(item));
+    }
+
+    public void index(Collection<Item> items) {
+        if (!enabled || items.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::indexItem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int offset, int limit) {
+        String[] tokens = tokenize(text);
+        if (tokens.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            LongPostingList nameHits = null;
+            LongPostingList hits = null;
+            for (String token : tokens) {
+                LongPostingList nameMatches = prefixMatches(nameTerms, token);
+                LongPostingList matches = LongPostingList.union(
+                        List.of(nameMatches, prefixMatches(descriptionTerms, token)));
+                nameHits = nameHits == null ? nameMatches : LongPostingList.intersect(nameHits, nameMatches);
+                hits = hits == null ? matches : LongPostingList.intersect(hits, matches);
+                if (hits.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<Long> page = new ArrayList<>();
+            int position = collect(nameHits, EMPTY, 0, offset, limit, page);
+            collect(hits, nameHits, position, offset, limit, page);
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexItem(Item item) {
+        long id = item.getId();
+        IndexedItem previous = indexedItems.get(id);
+        if (previous == null
+                || !Objects.equals(previous.name, item.getName())
+                || !Objects.equals(previous.description, item.getDescription())) {
+            if (previous != null) {
+                removePostings(nameTerms, previous.nameTokens, id);
+                removePostings(descriptionTerms, previous.descriptionTokens, id);
+            }
+            IndexedItem indexed = new IndexedItem(item.getName(), item.getDescription());
+            addPostings(nameTerms, indexed.nameTokens, id);
+            addPostings(descriptionTerms, indexed.descriptionTokens, id);
+            indexedItems.put(id, indexed);
+            previous = indexed;
+        }
+        previous.available = Boolean.TRUE.equals(item.getAvailable());
+    }
+
+    private int collect(LongPostingList ids,
+                        LongPostingList excluded,
+                        int position,
+                        int offset,
+                        int limit,
+                        List<Long> page) {
+        for (int i = 0; i < ids.size() && page.size() < limit; i++) {
+            long id = ids.get(i);
+            if (!indexedItems.get(id).available || excluded.contains(id)) {
+                continue;
+            }
+            if (position++ >= offset) {
+                page.add(id);
+            }
+        }
+        return position;
+    }
+
+    private static LongPostingList prefixMatches(NavigableMap<String, LongPostingList> terms, String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            return terms.getOrDefault(prefix, EMPTY);
+        }
+        Collection<LongPostingList> postings = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                .values();
+        return postings.isEmpty() ? EMPTY : LongPostingList.union(new ArrayList<>(postings));
+    }
+
+    private static void addPostings(Map<String, LongPostingList> terms, String[] tokens, long id) {
+        for (String token : tokens) {
+            terms.computeIfAbsent(token, key -> new LongPostingList()).add(id);
+        }
+    }
+
+    private static void removePostings(Map<String, LongPostingList> terms, String[] tokens, long id) {
+        for (String token : tokens) {
+            LongPostingList postings = terms.get(token);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    terms.remove(token);
+                }
+            }
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static class IndexedItem {
+        private final String name;
+        private final String description;
+        private final String[] nameTokens;
+        private final String[] descriptionTokens;
+        private boolean available;
+
+        private IndexedItem(String name, String description) {
+            this.name = name;
+            this.description = description;
+            this.nameTokens = tokenize(name);
+            this.descriptionTokens = tokenize(description);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class ItemSuggestionIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameTrie names = new NameTrie();
+    private final Map<Long, String> keysByItemId = new HashMap<>();
+
+    @Autowired
+    public ItemSuggestionIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            keysByItemId.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            index(items);
+            if (!items.isEmpty()) {
+                lastId = items.get(items.size() - 1).getId();
+            }
+        } while (items.size() == REBUILD_PAGE_SIZE);
+    }
+
+    public void index(Item item) {
+        index(List.of(item));
+    }
+
+    public void index(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::indexItem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return names.top(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexItem(Item item) {
+        String key = Boolean.TRUE.equals(item.getAvailable()) ? toKey(item.getName()) : "";
+        String previousKey = key.isEmpty() ? keysByItemId.remove(item.getId()) : keysByItemId.put(item.getId(), key);
+        if (previousKey != null) {
+            names.remove(previousKey);
+        }
+        if (!key.isEmpty()) {
+            names.add(key, item.getName().strip());
+        }
+    }
+
+    private static String toKey(String name) {
+        return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+    }
+}
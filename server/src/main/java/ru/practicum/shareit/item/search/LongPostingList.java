@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+class LongPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids;
+    private int size;
+
+    LongPostingList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private LongPostingList(int capacity) {
+        ids = new long[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            append(id);
+            return;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertion = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    static LongPostingList union(List<LongPostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        PriorityQueue<int[]> heads = new PriorityQueue<>(lists.size(),
+                Comparator.comparingLong(head -> lists.get(head[0]).ids[head[1]]));
+        int total = 0;
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+                total += lists.get(i).size;
+            }
+        }
+        LongPostingList result = new LongPostingList(total);
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            LongPostingList list = lists.get(head[0]);
+            long id = list.ids[head[1]];
+            if (result.size == 0 || result.ids[result.size - 1] != id) {
+                result.append(id);
+            }
+            if (++head[1] < list.size) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    static LongPostingList intersect(LongPostingList a, LongPostingList b) {
+        LongPostingList result = new LongPostingList(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.ids[i] < b.ids[j]) {
+                i++;
+            } else if (a.ids[i] > b.ids[j]) {
+                j++;
+            } else {
+                result.append(a.ids[i]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private void append(long id) {
+        ensureCapacity(size + 1);
+        ids[size++] = id;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(capacity, ids.length * 2));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+
+class NameTrie {
+
+    private final Node root = new Node("");
+
+    void add(String key, String name) {
+        update(root, key, 0, 1, name);
+    }
+
+    void remove(String key) {
+        update(root, key, 0, -1, null);
+    }
+
+    void clear() {
+        root.children.clear();
+        root.count = 0;
+        root.maxCount = 0;
+    }
+
+    List<String> top(String prefix, int limit) {
+        Node node = root;
+        StringBuilder path = new StringBuilder();
+        int depth = 0;
+        while (depth < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(depth));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int common = commonPrefixLength(child.edge, prefix, depth);
+            if (common < child.edge.length() && depth + common < prefix.length()) {
+                return Collections.emptyList();
+            }
+            path.append(child.edge);
+            depth += common;
+            node = child;
+        }
+
+        List<String> names = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        candidates.add(new Candidate(node, path.toString(), node.maxCount, false));
+        while (!candidates.isEmpty() && names.size() < limit) {
+            Candidate candidate = candidates.poll();
+            if (candidate.terminal) {
+                names.add(candidate.node.name);
+                continue;
+            }
+            if (candidate.node.count > 0) {
+                candidates.add(new Candidate(candidate.node, candidate.key, candidate.node.count, true));
+            }
+            for (Node child : candidate.node.children.values()) {
+                candidates.add(new Candidate(child, candidate.key + child.edge, child.maxCount, false));
+            }
+        }
+        return names;
+    }
+
+    private void update(Node node, String key, int depth, int delta, String name) {
+        if (depth == key.length()) {
+            node.count = Math.max(0, node.count + delta);
+            if (delta > 0) {
+                node.name = name;
+            }
+            refresh(node);
+            return;
+        }
+        char first = key.charAt(depth);
+        Node child = node.children.get(first);
+        if (child == null) {
+            if (delta < 0) {
+                return;
+            }
+            child = new Node(key.substring(depth));
+            node.children.put(first, child);
+            update(child, key, key.length(), delta, name);
+        } else {
+            int common = commonPrefixLength(child.edge, key, depth);
+            if (common < child.edge.length()) {
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children.put(child.edge.charAt(0), child);
+                refresh(middle);
+                node.children.put(first, middle);
+                child = middle;
+            }
+            update(child, key, depth + common, delta, name);
+            if (child.count == 0 && child.children.isEmpty()) {
+                node.children.remove(first);
+            } else if (child.count == 0 && child.children.size() == 1) {
+                Node only = child.children.values().iterator().next();
+                only.edge = child.edge + only.edge;
+                node.children.put(first, only);
+            }
+        }
+        refresh(node);
+    }
+
+    private static void refresh(Node node) {
+        int maxCount = node.count;
+        for (Node child : node.children.values()) {
+            maxCount = Math.max(maxCount, child.maxCount);
+        }
+        node.maxCount = maxCount;
+    }
+
+    private static int commonPrefixLength(String edge, String key, int depth) {
+        int length = Math.min(edge.length(), key.length() - depth);
+        int i = 0;
+        while (i < length && edge.charAt(i) == key.charAt(depth + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private String edge;
+        private final Map<Character, Node> children = new TreeMap<>();
+        private int count;
+        private int maxCount;
+        private String name;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private static class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final String key;
+        private final int score;
+        private final boolean terminal;
+
+        private Candidate(Node node, String key, int score, boolean terminal) {
+            this.node = node;
+            this.key = key;
+            this.score = score;
+            this.terminal = terminal;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            int byKey = key.compareTo(other.key);
+            if (byKey != 0) {
+                return byKey;
+            }
+            return Boolean.compare(other.terminal, terminal);
+        }
+    }
+}
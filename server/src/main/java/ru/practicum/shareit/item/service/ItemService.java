@@ -1,22 +1,33 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto createItem(ItemDto itemDto, long owner);
 
+    ItemBatchResultDto importItems(InputStream rows, long owner) throws IOException;
+
     ItemDto updateItem(long itemId, long owner, ItemDto itemDto);
 
     ItemDtoBooking getItem(long id, long owner);
 
+    List<TimeWindowDto> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
+
     List<ItemDtoBooking> getUserItems(long owner, int from, int size);
 
     List<ItemDto> findItem(String text, int from, int size);
 
+    List<String> suggestItemNames(String text, int size);
+
     CommentDto createComment(CommentDto commentDto, long itemId, long owner);
 }
@@ -1,51 +1,79 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class ItemServiceImpl implements ItemService {
 
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 512;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestionIndex itemSuggestionIndex;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository,
                            UserRepository userRepository,
                            BookingRepository bookingRepository,
                            CommentRepository commentRepository,
-                           ItemRequestRepository itemRequestRepository) {
+                           ItemRequestRepository itemRequestRepository,
+                           ItemSearchIndex itemSearchIndex,
+                           ItemSuggestionIndex itemSuggestionIndex,
+                           ItemAvailabilityIndex itemAvailabilityIndex,
+                           ObjectMapper objectMapper) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemSuggestionIndex = itemSuggestionIndex;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -65,48 +93,117 @@ public class ItemServiceImpl implements ItemService {
                 .owner(user)
                 .request(request)
                 .build();
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemSearchIndex.index(item);
+        itemSuggestionIndex.index(item);
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Override
+    public ItemBatchResultDto importItems(InputStream rows, long owner) throws IOException {
+        User user = userRepository.findById(owner)
+                .orElseThrow(() -> new ItemOwnerMismatchException("User specified as item owner does not exist"));
+        Map<Long, ItemRequest> requests = new HashMap<>();
+        Map<Long, ItemDto> chunk = new LinkedHashMap<>();
+        List<ItemBatchErrorDto> errors = new ArrayList<>();
+        long imported = 0;
+        long row = 0;
+        try (MappingIterator<ItemDto> iterator = objectMapper.readerFor(ItemDto.class).readValues(rows)) {
+            while (true) {
+                ItemDto itemDto;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    itemDto = iterator.nextValue();
+                } catch (JsonParseException e) {
+                    errors.add(new ItemBatchErrorDto(row, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    errors.add(new ItemBatchErrorDto(row++, "Malformed item: " + e.getOriginalMessage()));
+                    continue;
+                }
+                String error = validateImportedItem(itemDto);
+                if (error != null) {
+                    errors.add(new ItemBatchErrorDto(row, error));
+                } else {
+                    chunk.put(row, itemDto);
+                }
+                row++;
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    imported += importChunk(chunk, user, requests, errors);
+                }
+            }
+        }
+        imported += importChunk(chunk, user, requests, errors);
+        return new ItemBatchResultDto(imported, errors);
     }
 
     @Override
     public ItemDto updateItem(long itemId, long owner, ItemDto itemDto) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tryUpdateItem(itemId, owner, itemDto);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ConcurrentUpdateException(ErrorHandler.CONCURRENT_UPDATE);
+                }
+            }
+        }
+    }
 
-        ItemDto initialItem = ItemMapper.toItemDto(ItemMapper.toItemFromItemDtoBooking(getItem(itemId, owner)));
-        if (initialItem.getOwner().getId() != owner) {
+    private ItemDto tryUpdateItem(long itemId, long owner, ItemDto itemDto) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(ErrorHandler.ITEM_NOT_FOUND));
+        if (item.getOwner().getId() != owner) {
             throw new ItemOwnerMismatchException(ErrorHandler.ITEM_OWNER_MISMATCH);
         }
         if (itemDto.getName() != null) {
-            initialItem.setName(itemDto.getName());
+            item.setName(itemDto.getName());
         }
         if (itemDto.getDescription() != null) {
-            initialItem.setDescription(itemDto.getDescription());
+            item.setDescription(itemDto.getDescription());
         }
         if (itemDto.getAvailable() != null) {
-            initialItem.setAvailable(itemDto.getAvailable());
+            item.setAvailable(itemDto.getAvailable());
         }
         if (itemDto.getOwner() != null) {
-            initialItem.setOwner(itemDto.getOwner());
+            item.setOwner(itemDto.getOwner());
         }
         if (itemDto.getRequestId() != null) {
-            initialItem.setRequestId(itemDto.getRequestId());
+            item.setRequest(itemRequestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new ItemRequestNotFoundException(ErrorHandler.ITEM_REQUEST_NOT_FOUND)));
         }
-        itemRepository.save(ItemMapper.toItem(initialItem));
-        return initialItem;
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.index(saved);
+        itemSuggestionIndex.index(saved);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
     public ItemDtoBooking getItem(long id, long owner) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ItemNotFoundException(ErrorHandler.ITEM_NOT_FOUND));
-        return setBookingsAndCommentsToItem(owner, item);
+        return setBookingsAndCommentsToItems(owner, List.of(item)).get(0);
+    }
+
+    @Override
+    public List<TimeWindowDto> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException(ErrorHandler.ITEM_NOT_FOUND);
+        }
+        if (!from.isBefore(to)) {
+            throw new BookingTimeMismatchException("Availability period is incorrect");
+        }
+        return itemAvailabilityIndex.getFreeWindows(itemId, from, to);
     }
 
     @Override
     public List<ItemDtoBooking> getUserItems(long owner, int from, int size) {
         int page = from / size;
-        return itemRepository.findByOwnerIdOrderById(owner, PageRequest.of(page, size)).stream()
-                .map(item -> setBookingsAndCommentsToItem(owner, item))
-                .collect(Collectors.toList());
+        return setBookingsAndCommentsToItems(
+                owner,
+                itemRepository.findByOwnerIdOrderById(owner, PageRequest.of(page, size)));
     }
 
     @Override
@@ -115,9 +212,14 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(
-                        text,
+        if (itemSearchIndex.isEnabled()) {
+            return findIndexedItems(text, page, size);
+        }
+        String escapedText = escapeLikePattern(text);
+        return itemRepository.searchAvailable(
                         text,
+                        escapedText + "%",
+                        "%" + escapedText + "%",
                         PageRequest.of(page, size)
                 )
                 .stream()
@@ -125,6 +227,14 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<String> suggestItemNames(String text, int size) {
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return itemSuggestionIndex.suggest(text, size);
+    }
+
     @Override
     public CommentDto createComment(CommentDto commentDto, long itemId, long userId) {
         LocalDateTime now = LocalDateTime.now();
@@ -149,29 +259,147 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
-    private ItemDtoBooking setBookingsAndCommentsToItem(long owner, Item item) {
-        ItemDtoBooking itemDtoBooking = ItemMapper.toItemDtoBooking(item);
-        if (item.getOwner().getId() == owner) {
-            LocalDateTime now = LocalDateTime.now();
-            itemDtoBooking.setLastBooking(
-                    bookingRepository.findByItemIdAndEndBeforeOrderByEndDesc(
-                            itemDtoBooking.getId(),
-                            now
-                    ).map(BookingMapper::toBookingDto).orElse(null));
-            itemDtoBooking.setNextBooking(
-                    bookingRepository.findByItemIdAndStartAfterOrderByEndAsc(
-                            itemDtoBooking.getId(),
-                            now
-                    ).map(BookingMapper::toBookingDto).orElse(null));
-        } else {
-            itemDtoBooking.setLastBooking(null);
-            itemDtoBooking.setNextBooking(null);
-        }
-        List<Comment> comments = commentRepository.findByItemId(itemDtoBooking.getId());
-        itemDtoBooking.setComments(comments == null || comments.isEmpty() ? Collections.emptyList() :
-                comments.stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
-        return itemDtoBooking;
+    private List<ItemDto> findIndexedItems(String text, int page, int size) {
+        List<Long> itemIds = itemSearchIndex.search(text, page * size, size);
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private String validateImportedItem(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Item is empty";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Item name is blank";
+        }
+        if (itemDto.getName().length() > MAX_NAME_LENGTH) {
+            return "Item name is longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Item description is blank";
+        }
+        if (itemDto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "Item description is longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Item availability is not set";
+        }
+        return null;
+    }
+
+    private long importChunk(Map<Long, ItemDto> chunk,
+                             User owner,
+                             Map<Long, ItemRequest> requests,
+                             List<ItemBatchErrorDto> errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Set<Long> unresolvedRequestIds = chunk.values().stream()
+                .map(ItemDto::getRequestId)
+                .filter(requestId -> requestId != null && !requests.containsKey(requestId))
+                .collect(Collectors.toSet());
+        if (!unresolvedRequestIds.isEmpty()) {
+            itemRequestRepository.findAllById(unresolvedRequestIds)
+                    .forEach(request -> requests.put(request.getId(), request));
+            unresolvedRequestIds.forEach(requestId -> requests.putIfAbsent(requestId, null));
+        }
+        Map<Long, Item> items = new LinkedHashMap<>();
+        chunk.forEach((row, itemDto) -> {
+            ItemRequest request = null;
+            if (itemDto.getRequestId() != null) {
+                request = requests.get(itemDto.getRequestId());
+                if (request == null) {
+                    errors.add(new ItemBatchErrorDto(row, ErrorHandler.ITEM_REQUEST_NOT_FOUND));
+                    return;
+                }
+            }
+            items.put(row, Item.builder()
+                    .name(itemDto.getName())
+                    .description(itemDto.getDescription())
+                    .available(itemDto.getAvailable())
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        });
+        chunk.clear();
+        if (items.isEmpty()) {
+            return 0;
+        }
+        List<Item> saved = new ArrayList<>(items.values());
+        try {
+            itemRepository.insertAll(saved);
+        } catch (DataAccessException e) {
+            saved = importRowByRow(items, errors);
+        }
+        itemSearchIndex.index(saved);
+        itemSuggestionIndex.index(saved);
+        return saved.size();
+    }
+
+    private List<Item> importRowByRow(Map<Long, Item> items, List<ItemBatchErrorDto> errors) {
+        List<Item> saved = new ArrayList<>();
+        items.forEach((row, item) -> {
+            // The rolled back chunk has already assigned ids, reset them so the item is persisted as new
+            item.setId(0);
+            item.setVersion(0);
+            try {
+                itemRepository.insertAll(List.of(item));
+                saved.add(item);
+            } catch (DataAccessException e) {
+                errors.add(new ItemBatchErrorDto(row, "Item could not be saved"));
+            }
+        });
+        return saved;
+    }
+
+    private List<ItemDtoBooking> setBookingsAndCommentsToItems(long owner, List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId() == owner)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDto> lastBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() :
+                bookingsByItemId(bookingRepository.findLastBookingsByItemIds(ownedItemIds, now));
+        Map<Long, BookingDto> nextBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() :
+                bookingsByItemId(bookingRepository.findNextBookingsByItemIds(ownedItemIds, now));
+        Map<Long, List<CommentDto>> comments = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(
+                        comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        return items.stream()
+                .map(item -> {
+                    ItemDtoBooking itemDtoBooking = ItemMapper.toItemDtoBooking(item);
+                    itemDtoBooking.setLastBooking(lastBookings.get(item.getId()));
+                    itemDtoBooking.setNextBooking(nextBookings.get(item.getId()));
+                    itemDtoBooking.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+                    return itemDtoBooking;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, BookingDto> bookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toMap(BookingDto::getItemId, bookingDto -> bookingDto));
     }
 }
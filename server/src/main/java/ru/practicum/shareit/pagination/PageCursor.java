@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.*;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exceptions.ErrorHandler;
+import ru.practicum.shareit.exceptions.PageCursorFormatException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+@EqualsAndHashCode
+@ToString
+public class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new PageCursorFormatException(ErrorHandler.PAGE_CURSOR_MALFORMED);
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new PageCursorFormatException(ErrorHandler.PAGE_CURSOR_MALFORMED);
+        }
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() >= size) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode());
+        }
+        return responseBuilder.body(page);
+    }
+}
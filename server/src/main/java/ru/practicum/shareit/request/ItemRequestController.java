@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -34,11 +36,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getItemRequests(
+    public ResponseEntity<List<ItemRequestDto>> getItemRequests(
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(USER_ID_HEADER) long userId) {
-        return itemRequestService.getItemRequests(userId, from, size);
+        List<ItemRequestDto> itemRequests = cursor == null ?
+                itemRequestService.getItemRequests(userId, from, size) :
+                itemRequestService.getItemRequests(userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(
+                itemRequests,
+                size,
+                itemRequest -> PageCursor.of(itemRequest.getCreated(), itemRequest.getId()));
     }
 
     @GetMapping("/{requestId}")
@@ -1,12 +1,37 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Override
+    @EntityGraph(attributePaths = "requestor")
+    Optional<ItemRequest> findById(Long id);
+
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findByRequestorIdOrderByCreated(long userId);
+
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findByRequestorIdNotOrderByCreatedDescIdDesc(long userId, PageRequest pageRequest);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requestor.id <> :userId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+            @Param("userId") long userId,
+            @Param("created") LocalDateTime created,
+            @Param("id") long id,
+            PageRequest pageRequest);
 }
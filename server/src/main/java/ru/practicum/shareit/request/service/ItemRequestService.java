@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getItemRequests(long userId, int from, int size);
 
+    List<ItemRequestDto> getItemRequests(long userId, PageCursor cursor, int size);
+
     ItemRequestDto getItemRequest(long requestId, long userId);
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -18,7 +19,9 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -55,19 +58,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getUserItemRequests(long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
-        return itemRequestRepository.findByRequestorIdOrderByCreated(userId).stream()
-                .map(this::setItemsToItemRequest)
-                .collect(Collectors.toList());
+        return setItemsToItemRequests(itemRequestRepository.findByRequestorIdOrderByCreated(userId));
     }
 
     @Override
     public List<ItemRequestDto> getItemRequests(long userId, int from, int size) {
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        return itemRequestRepository.findAll(pageRequest).stream()
-                .map(this::setItemsToItemRequest)
-                .filter(itemRequestDto -> !(itemRequestDto.getRequestor().getId() == userId))
-                .collect(Collectors.toList());
+        return setItemsToItemRequests(
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(userId, pageRequest));
+    }
+
+    @Override
+    public List<ItemRequestDto> getItemRequests(long userId, PageCursor cursor, int size) {
+        return setItemsToItemRequests(
+                itemRequestRepository.findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                        userId,
+                        cursor.getTimestamp(),
+                        cursor.getId(),
+                        PageRequest.of(0, size)));
     }
 
     @Override
@@ -76,15 +85,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new UserNotFoundException(ErrorHandler.USER_NOT_FOUND));
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ItemRequestNotFoundException(ErrorHandler.ITEM_REQUEST_NOT_FOUND));
-        return setItemsToItemRequest(itemRequest);
+        return setItemsToItemRequests(List.of(itemRequest)).get(0);
     }
 
-    private ItemRequestDto setItemsToItemRequest(ItemRequest itemRequest) {
-        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-        List<ItemDto> items = itemRepository.findByRequestId(itemRequest.getId()).stream()
-                .map(ItemMapper::toItemDto)
+    private List<ItemRequestDto> setItemsToItemRequests(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(
+                        item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+                    itemRequestDto.setItems(items.getOrDefault(itemRequest.getId(), Collections.emptyList()));
+                    return itemRequestDto;
+                })
                 .collect(Collectors.toList());
-        itemRequestDto.setItems(items);
-        return itemRequestDto;
     }
 }
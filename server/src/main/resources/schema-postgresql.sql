@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_waiting ON bookings (booker_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_waiting ON bookings (item_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (UPPER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (UPPER(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+    EXCLUDE USING GIST (item_id WITH =, TSRANGE(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
@@ -1,8 +1,19 @@
 DROP TABLE IF EXISTS users, requests, items , bookings, comments;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    BIGINT                                  NOT NULL,
     name  VARCHAR(255)                            NOT NULL,
     email VARCHAR(512)                            NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
@@ -11,7 +22,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT                                  NOT NULL,
     description  VARCHAR(512)                            NOT NULL,
     requestor_id BIGINT                                  NOT NULL,
     created      TIMESTAMP WITHOUT TIME ZONE,
@@ -19,39 +30,52 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT fk_request_requestor FOREIGN KEY (requestor_id) REFERENCES users (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id          BIGINT                                  NOT NULL,
     name        VARCHAR(255)                            NOT NULL,
     description VARCHAR(512)                            NOT NULL,
     available   BOOLEAN,
     owner_id    BIGINT                                  NOT NULL,
     request_id  BIGINT,
+    version     BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (id),
     CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES requests (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id         BIGINT                                  NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     item_id    BIGINT,
     booker_id  BIGINT,
     status     VARCHAR(15),
+    version    BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (id),
     CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items (id),
     CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date DESC);
+
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id        BIGINT                                  NOT NULL,
     text      VARCHAR(1000)                           NOT NULL,
     item_id   BIGINT,
     author_id BIGINT,
     created   TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items (id),
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
\ No newline at end of file
@@ -7,13 +7,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+import ru.practicum.shareit.exceptions.ErrorHandler;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -22,9 +27,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -90,6 +98,19 @@ class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(booking1DtoResponse)));
     }
 
+    @Test
+    void createOverlappingBookingTest() throws Exception {
+        when(bookingService.createBooking(any(BookingDto.class), anyLong()))
+                .thenThrow(new BookingOverlapException(ErrorHandler.BOOKING_OVERLAP));
+
+        mockMvc.perform(post("/bookings")
+                        .content(mapper.writeValueAsString(booking1Dto))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, user2Dto.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{\"error\": \"Item is already booked for the requested period\"}"));
+    }
+
     @Test
     void updateBookingTest() throws Exception {
         when(bookingService.updateBooking(anyLong(), anyBoolean(), anyLong()))
@@ -115,7 +136,7 @@ class BookingControllerTest {
 
     @Test
     void getBookingsTest() throws Exception {
-        when(bookingService.getBookings(any(String.class), anyLong(), anyInt(), anyInt()))
+        when(bookingService.getBookings(any(BookingState.class), anyLong(), anyInt(), anyInt()))
                 .thenReturn(List.of(booking1DtoResponse));
 
         mockMvc.perform(get("/bookings")
@@ -124,14 +145,72 @@ class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(booking1DtoResponse))));
     }
 
+    @Test
+    void getBookingsNotModifiedTest() throws Exception {
+        when(bookingService.getBookings(any(BookingState.class), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(booking1DtoResponse));
+
+        String etag = mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, user2Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, user2Dto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBookingsWithStateTest() throws Exception {
+        when(bookingService.getBookings(any(BookingState.class), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(booking1DtoResponse));
+
+        mockMvc.perform(get("/bookings")
+                        .param("state", "WAITING")
+                        .header(USER_ID_HEADER, user2Dto.getId()))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getBookings(BookingState.WAITING, user2Dto.getId(), 0, 10);
+    }
+
+    @Test
+    void getBookingsWithUnknownStateTest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .param("state", "UNSUPPORTED_STATUS")
+                        .header(USER_ID_HEADER, user2Dto.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"error\": \"Unknown state: UNSUPPORTED_STATUS\"}"));
+
+        verify(bookingService, never()).getBookings(any(BookingState.class), anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     void getItemsOwnerBookingsTest() throws Exception {
-        when(bookingService.getItemsOwnerBookings(any(String.class), anyLong(), anyInt(), anyInt()))
+        when(bookingService.getItemsOwnerBookings(any(BookingState.class), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(booking1DtoResponse));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, user2Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(booking1DtoResponse))));
+    }
+
+    @Test
+    void getItemsOwnerBookingsWithCursorTest() throws Exception {
+        PageCursor cursor = PageCursor.of(booking1DtoResponse.getStart(), booking1DtoResponse.getId());
+        when(bookingService.getItemsOwnerBookings(any(BookingState.class), anyLong(), any(PageCursor.class), anyInt()))
                 .thenReturn(List.of(booking1DtoResponse));
 
         mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", cursor.encode())
+                        .param("size", "1")
                         .header(USER_ID_HEADER, user2Dto.getId()))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, cursor.encode()))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(booking1DtoResponse))));
     }
-}
\ No newline at end of file
+}
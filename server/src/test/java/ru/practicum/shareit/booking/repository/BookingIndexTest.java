@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIndexTest {
+
+    private static final String BOOKER_START = "IDX_BOOKINGS_BOOKER_START";
+    private static final String ITEM_START = "IDX_BOOKINGS_ITEM_START";
+    private static final String ITEM_END = "IDX_BOOKINGS_ITEM_END";
+    private static final String ITEM_ANY = "IDX_BOOKINGS_ITEM_";
+    private static final String ITEMS_OWNER = "IDX_ITEMS_OWNER_ID";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, SQLException {
+        // H2 creates an index for every foreign key and it ties with ours on the leading column, while Postgres
+        // indexes nothing on its own. Drop the foreign keys so that, as on Postgres, only schema.sql indexes compete.
+        String schema = StreamUtils.copyToString(
+                        new ClassPathResource("schema.sql").getInputStream(), StandardCharsets.UTF_8)
+                .replaceAll(",\\s*CONSTRAINT fk_\\w+ FOREIGN KEY \\(\\w+\\) REFERENCES \\w+ \\(id\\)", "");
+        connection = DriverManager.getConnection("jdbc:h2:mem:booking-index");
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void afterAll() throws SQLException {
+        connection.close();
+    }
+
+    static Stream<Arguments> bookingQueries() {
+        return Stream.of(
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC",
+                        new String[]{BOOKER_START}),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND start_date < CURRENT_TIMESTAMP " +
+                                "AND end_date > CURRENT_TIMESTAMP ORDER BY start_date DESC, id DESC",
+                        new String[]{BOOKER_START}),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND end_date < CURRENT_TIMESTAMP " +
+                                "ORDER BY start_date DESC, id DESC",
+                        new String[]{BOOKER_START}),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND start_date > CURRENT_TIMESTAMP " +
+                                "ORDER BY start_date DESC, id DESC",
+                        new String[]{BOOKER_START}),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND status = 'WAITING' " +
+                                "ORDER BY start_date DESC, id DESC",
+                        new String[]{BOOKER_START}),
+                Arguments.of("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id WHERE i.owner_id = 1 " +
+                                "ORDER BY b.start_date DESC, b.id DESC",
+                        new String[]{ITEMS_OWNER, ITEM_ANY}),
+                Arguments.of("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id WHERE i.owner_id = 1 " +
+                                "AND b.status = 'WAITING' ORDER BY b.start_date DESC, b.id DESC",
+                        new String[]{ITEMS_OWNER, ITEM_ANY}),
+                Arguments.of("SELECT * FROM bookings WHERE item_id IN (1, 2) AND end_date < CURRENT_TIMESTAMP " +
+                                "ORDER BY end_date DESC",
+                        new String[]{ITEM_END}),
+                Arguments.of("SELECT * FROM bookings WHERE item_id IN (1, 2) AND start_date > CURRENT_TIMESTAMP " +
+                                "ORDER BY end_date ASC",
+                        new String[]{ITEM_START}),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND item_id = 1 AND status = 'APPROVED' " +
+                                "AND end_date < CURRENT_TIMESTAMP",
+                        new String[]{ITEM_END}));
+    }
+
+    @ParameterizedTest
+    @MethodSource("bookingQueries")
+    void bookingQueriesUseCompositeIndexesTest(String sql, String[] indexes) throws SQLException {
+        String plan = explain(sql);
+
+        assertThat(plan).contains(indexes);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingRepositoryFetchTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private LocalDateTime now;
+    private User owner;
+    private User booker;
+    private Booking booking;
+
+    @BeforeEach
+    void beforeEach() {
+        now = LocalDateTime.now();
+        owner = userRepository.save(new User(0, "Owner name", "owner@mail.com"));
+        User requestor = userRepository.save(new User(0, "Requestor name", "requestor@mail.com"));
+        ItemRequest itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("ItemRequest description")
+                .requestor(requestor)
+                .created(now)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            booker = userRepository.save(new User(0, "Booker" + i, "booker" + i + "@mail.com"));
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item" + i)
+                    .description("Item description")
+                    .available(true)
+                    .owner(owner)
+                    .request(itemRequest)
+                    .build());
+            booking = bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 2))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByFilterForOwnerLoadsGraphInOneStatementTest() {
+        List<Booking> bookings = bookingRepository.findByFilter(
+                BookingFilter.builder().ownerId(owner.getId()).status(Status.WAITING).build(),
+                PageRequest.of(0, 10));
+        touchGraph(bookings);
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAfterCursorLoadsGraphInOneStatementTest() {
+        List<Booking> bookings = bookingRepository.findAfterCursor(
+                BookingFilter.builder().ownerId(owner.getId()).build(),
+                PageCursor.of(now.plusDays(10), Long.MAX_VALUE),
+                10);
+        touchGraph(bookings);
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByFilterForBookerLoadsGraphInOneStatementTest() {
+        List<Booking> bookings = bookingRepository.findByFilter(
+                BookingFilter.builder().bookerId(booker.getId()).build(),
+                PageRequest.of(0, 10));
+        touchGraph(bookings);
+
+        assertEquals(1, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByFilterReusesQueryForDifferentUsersTest() {
+        bookingRepository.findByFilter(
+                BookingFilter.builder().bookerId(owner.getId()).build(),
+                PageRequest.of(0, 10));
+        bookingRepository.findByFilter(
+                BookingFilter.builder().bookerId(booker.getId()).build(),
+                PageRequest.of(1, 10));
+
+        assertEquals(1, statistics.getQueries().length);
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void findByIdLoadsGraphInOneStatementTest() {
+        Booking found = bookingRepository.findById(booking.getId()).orElseThrow();
+        touchGraph(List.of(found));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findNextBookingsDoesNotLoadAssociationsTest() {
+        List<Booking> bookings = bookingRepository.findNextBookingsByItemIds(
+                List.of(booking.getItem().getId()), now);
+        bookings.forEach(BookingMapper::toBookingDto);
+
+        assertEquals(1, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void touchGraph(List<Booking> bookings) {
+        bookings.forEach(booking -> {
+            booking.getBooker().getName();
+            booking.getItem().getOwner().getName();
+            booking.getItem().getRequest().getRequestor().getName();
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,19 +10,25 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.exceptions.BookingNotFoundException;
-import ru.practicum.shareit.exceptions.ErrorHandler;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class BookingRepositoryTest {
 
     @Autowired
@@ -32,6 +40,9 @@ class BookingRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
 
     private LocalDateTime now;
     private LocalDateTime start;
@@ -44,9 +55,9 @@ class BookingRepositoryTest {
 
     @BeforeEach
     void beforeEach() {
-        now = LocalDateTime.now();
-        start = LocalDateTime.now().plusDays(1);
-        end = LocalDateTime.now().plusDays(2);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        start = now.plusDays(1);
+        end = now.plusDays(2);
         user1 = new User(1, "User1 name", "user1@mail.com");
         user2 = new User(2, "User2 name", "user2@mail.com");
         user1 = userRepository.save(user1);
@@ -81,125 +92,226 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerIdOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByBookerIdOrderByStartDesc(
-                user2.getId(), PageRequest.of(0, 10));
+    void findByFilterForBookerTest() {
+        BookingFilter all = BookingFilter.builder()
+                .bookerId(user2.getId())
+                .build();
+        BookingFilter future = BookingFilter.builder()
+                .bookerId(user2.getId())
+                .startAfter(now)
+                .build();
+        BookingFilter past = BookingFilter.builder()
+                .bookerId(user2.getId())
+                .endBefore(now)
+                .build();
+        BookingFilter otherBooker = BookingFilter.builder()
+                .bookerId(user1.getId())
+                .build();
 
-        assertEquals(List.of(booking1), bookings);
+        assertEquals(List.of(booking1), bookingRepository.findByFilter(all, PageRequest.of(0, 10)));
+        assertEquals(List.of(booking1), bookingRepository.findByFilter(future, PageRequest.of(0, 10)));
+        assertEquals(Collections.emptyList(), bookingRepository.findByFilter(past, PageRequest.of(0, 10)));
+        assertEquals(Collections.emptyList(), bookingRepository.findByFilter(otherBooker, PageRequest.of(0, 10)));
     }
 
     @Test
-    void findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescTest() {
+    void findByFilterCurrentForOwnerTest() {
         booking1.setStart(start.minusDays(5));
         booking1.setEnd(end.plusDays(5));
         bookingRepository.save(booking1);
-        List<Booking> bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                user2.getId(), now, now, PageRequest.of(0, 10));
+        BookingFilter current = BookingFilter.builder()
+                .ownerId(user1.getId())
+                .startBefore(now)
+                .endAfter(now)
+                .build();
+        BookingFilter waiting = BookingFilter.builder()
+                .ownerId(user1.getId())
+                .status(Status.WAITING)
+                .build();
+        BookingFilter rejected = BookingFilter.builder()
+                .ownerId(user1.getId())
+                .status(Status.REJECTED)
+                .build();
 
-        assertEquals(List.of(booking1), bookings);
+        assertEquals(List.of(booking1), bookingRepository.findByFilter(current, PageRequest.of(0, 10)));
+        assertEquals(List.of(booking1), bookingRepository.findByFilter(waiting, PageRequest.of(0, 10)));
+        assertEquals(Collections.emptyList(), bookingRepository.findByFilter(rejected, PageRequest.of(0, 10)));
     }
 
     @Test
-    void findByBookerIdAndEndBeforeOrderByStartDescTest() {
-        booking1.setStart(start.minusDays(5));
-        booking1.setEnd(end.minusDays(3));
-        bookingRepository.save(booking1);
-        List<Booking> bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                user2.getId(), now, PageRequest.of(0, 10));
-
-        assertEquals(List.of(booking1), bookings);
-    }
-
-    @Test
-    void findByBookerIdAndStartAfterOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                user2.getId(), now, PageRequest.of(0, 10));
+    void findByFilterPagesByStartDescTest() {
+        Booking booking2 = bookingRepository.save(Booking.builder()
+                .start(start.plusDays(1))
+                .end(end.plusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+        BookingFilter filter = BookingFilter.builder()
+                .bookerId(user2.getId())
+                .build();
 
-        assertEquals(List.of(booking1), bookings);
+        assertEquals(List.of(booking2), bookingRepository.findByFilter(filter, PageRequest.of(0, 1)));
+        assertEquals(List.of(booking1), bookingRepository.findByFilter(filter, PageRequest.of(1, 1)));
+        assertEquals(Collections.emptyList(), bookingRepository.findByFilter(filter, PageRequest.of(2, 1)));
     }
 
     @Test
-    void findByBookerIdAndStatusOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                user2.getId(), Status.WAITING, PageRequest.of(0, 10));
-
-        assertEquals(List.of(booking1), bookings);
+    void findByFilterRendersOneQueryPerRoleTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PageCursor cursor = PageCursor.of(end, Long.MAX_VALUE);
+
+        for (BookingFilter.BookingFilterBuilder state : List.of(
+                BookingFilter.builder(),
+                BookingFilter.builder().startBefore(now).endAfter(now),
+                BookingFilter.builder().endBefore(now),
+                BookingFilter.builder().startAfter(now),
+                BookingFilter.builder().status(Status.WAITING),
+                BookingFilter.builder().status(Status.REJECTED))) {
+            BookingFilter booker = state.bookerId(user2.getId()).build();
+            BookingFilter owner = state.bookerId(null).ownerId(user1.getId()).build();
+            Stream.of(booker, owner).forEach(filter -> {
+                bookingRepository.findByFilter(filter, PageRequest.of(0, 10));
+                bookingRepository.findAfterCursor(filter, cursor, 10);
+            });
+        }
+
+        assertEquals(4, statistics.getQueries().length);
     }
 
     @Test
-    void findByItemOwnerIdOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(
-                user1.getId(), PageRequest.of(0, 10));
+    void findLastBookingsByItemIdsTest() {
+        booking1.setStart(start.minusDays(5));
+        booking1.setEnd(end.minusDays(3));
+        bookingRepository.save(booking1);
+        bookingRepository.save(Booking.builder()
+                .start(start.minusDays(8))
+                .end(end.minusDays(7))
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .build());
+        List<Booking> bookings = bookingRepository.findLastBookingsByItemIds(List.of(item1.getId()), now);
 
-        assertEquals(List.of(booking1), bookings);
+        assertEquals(1, bookings.size());
+        assertEquals(booking1.getId(), bookings.get(0).getId());
+        assertEquals(item1.getId(), bookings.get(0).getItem().getId());
     }
 
     @Test
-    void findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescTest() {
-        booking1.setStart(start.minusDays(5));
-        booking1.setEnd(end.plusDays(5));
-        bookingRepository.save(booking1);
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                user1.getId(), now, now, PageRequest.of(0, 10));
+    void findNextBookingsByItemIdsTest() {
+        bookingRepository.save(Booking.builder()
+                .start(start.plusDays(5))
+                .end(end.plusDays(5))
+                .item(item1)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+        List<Booking> bookings = bookingRepository.findNextBookingsByItemIds(List.of(item1.getId()), now);
 
-        assertEquals(List.of(booking1), bookings);
+        assertEquals(1, bookings.size());
+        assertEquals(booking1.getId(), bookings.get(0).getId());
     }
 
     @Test
-    void findByItemOwnerIdAndEndBeforeOrderByStartDescTest() {
+    void findByBookerIdAndItemIdAndStatusAndEndBeforeTest() {
         booking1.setStart(start.minusDays(5));
         booking1.setEnd(end.minusDays(3));
         bookingRepository.save(booking1);
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                user1.getId(), now, PageRequest.of(0, 10));
+        List<Booking> bookings = bookingRepository.findByBookerIdAndItemIdAndStatusAndEndBefore(
+                user2.getId(), item1.getId(), Status.WAITING, now);
 
         assertEquals(List.of(booking1), bookings);
-
     }
 
     @Test
-    void findByItemOwnerIdAndStartAfterOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(
-                user1.getId(), now, PageRequest.of(0, 10));
+    void findAfterCursorByBookerTest() {
+        Booking booking2 = bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item1)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+        BookingFilter filter = BookingFilter.builder()
+                .bookerId(user2.getId())
+                .build();
 
-        assertEquals(List.of(booking1), bookings);
-    }
+        List<Booking> firstPage = bookingRepository.findAfterCursor(
+                filter, PageCursor.of(end, Long.MAX_VALUE), 1);
+        assertEquals(List.of(booking2), firstPage);
 
-    @Test
-    void findByItemOwnerIdAndStatusOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                user1.getId(), Status.WAITING, PageRequest.of(0, 10));
+        List<Booking> secondPage = bookingRepository.findAfterCursor(
+                filter, PageCursor.of(booking2.getStart(), booking2.getId()), 1);
+        assertEquals(List.of(booking1), secondPage);
 
-        assertEquals(List.of(booking1), bookings);
+        List<Booking> lastPage = bookingRepository.findAfterCursor(
+                filter, PageCursor.of(booking1.getStart(), booking1.getId()), 1);
+        assertEquals(Collections.emptyList(), lastPage);
     }
 
     @Test
-    void findByItemIdAndEndBeforeOrderByEndDescTest() {
-        booking1.setStart(start.minusDays(5));
-        booking1.setEnd(end.minusDays(3));
-        bookingRepository.save(booking1);
-        Booking booking = bookingRepository.findByItemIdAndEndBeforeOrderByEndDesc(
-                item1.getId(), now).orElseThrow(() -> new BookingNotFoundException(ErrorHandler.BOOKING_NOT_FOUND));
+    void findAfterCursorByOwnerAndStatusTest() {
+        BookingFilter waiting = BookingFilter.builder()
+                .ownerId(user1.getId())
+                .status(Status.WAITING)
+                .startAfter(now)
+                .build();
+        BookingFilter rejected = BookingFilter.builder()
+                .ownerId(user1.getId())
+                .status(Status.REJECTED)
+                .build();
+        BookingFilter otherOwner = BookingFilter.builder()
+                .ownerId(user2.getId())
+                .build();
+        PageCursor cursor = PageCursor.of(end, Long.MAX_VALUE);
 
-        assertEquals(booking1, booking);
+        assertEquals(List.of(booking1), bookingRepository.findAfterCursor(waiting, cursor, 10));
+        assertEquals(Collections.emptyList(), bookingRepository.findAfterCursor(rejected, cursor, 10));
+        assertEquals(Collections.emptyList(), bookingRepository.findAfterCursor(otherOwner, cursor, 10));
     }
 
     @Test
-    void findByItemIdAndStartAfterOrderByEndAscTest() {
-        Booking booking = bookingRepository.findByItemIdAndStartAfterOrderByEndAsc(
-                item1.getId(), now).orElseThrow(() -> new BookingNotFoundException(ErrorHandler.BOOKING_NOT_FOUND));
-
-        assertEquals(booking1, booking);
+    void existsOverlappingTest() {
+        EnumSet<Status> blocking = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+        assertTrue(bookingRepository.existsOverlapping(
+                item1.getId(), 0, blocking, start.plusHours(12), end.plusHours(12)));
+        assertTrue(bookingRepository.existsOverlapping(
+                item1.getId(), 0, blocking, start.minusHours(1), end.plusHours(1)));
+        assertFalse(bookingRepository.existsOverlapping(
+                item1.getId(), 0, blocking, end, end.plusDays(1)));
+        assertFalse(bookingRepository.existsOverlapping(
+                item1.getId(), 0, blocking, start.minusDays(1), start));
+        assertFalse(bookingRepository.existsOverlapping(
+                item1.getId(), booking1.getId(), blocking, start, end));
+        assertFalse(bookingRepository.existsOverlapping(
+                item1.getId(), 0, EnumSet.of(Status.APPROVED), start, end));
     }
 
     @Test
-    void findByBookerIdAndItemIdAndStatusAndEndBeforeTest() {
-        booking1.setStart(start.minusDays(5));
-        booking1.setEnd(end.minusDays(3));
-        bookingRepository.save(booking1);
-        List<Booking> bookings = bookingRepository.findByBookerIdAndItemIdAndStatusAndEndBefore(
-                user2.getId(), item1.getId(), Status.WAITING, now);
+    void findByItemIdAndStatusInAndEndAfterTest() {
+        Booking rejected = bookingRepository.save(Booking.builder()
+                .start(start.plusDays(2))
+                .end(end.plusDays(2))
+                .item(item1)
+                .booker(user2)
+                .status(Status.REJECTED)
+                .build());
+        Booking past = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .build());
+
+        List<Booking> bookings = bookingRepository.findByItemIdAndStatusInAndEndAfter(
+                item1.getId(), EnumSet.of(Status.WAITING, Status.APPROVED), now);
 
         assertEquals(List.of(booking1), bookings);
+        assertFalse(bookings.contains(rejected));
+        assertFalse(bookings.contains(past));
     }
-}
\ No newline at end of file
+}
@@ -5,29 +5,44 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingFilter;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +56,10 @@ class BookingServiceTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Spy
+    private ItemBookingLocks itemBookingLocks = new ItemBookingLocks(4);
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
 
     private LocalDateTime start;
     private LocalDateTime end;
@@ -92,6 +111,8 @@ class BookingServiceTest {
                 BookingMapper.toBookingDto(booking1),
                 user2.getId());
 
+        verify(itemAvailabilityIndex).update(booking1, null);
+
         assertEquals(1, bookingDtoResponse.getId());
         assertEquals(start, bookingDtoResponse.getStart());
         assertEquals(end, bookingDtoResponse.getEnd());
@@ -171,6 +192,71 @@ class BookingServiceTest {
         assertEquals("Item not found", exception.getMessage());
     }
 
+    @Test
+    void createOverlappingBookingTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user2));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item1));
+        when(bookingRepository.existsOverlapping(anyLong(), anyLong(), anySet(), any(), any()))
+                .thenReturn(true);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class,
+                () -> bookingService.createBooking(
+                        BookingMapper.toBookingDto(booking1),
+                        user2.getId()));
+
+        assertEquals("Item is already booked for the requested period", exception.getMessage());
+        verify(bookingRepository).existsOverlapping(
+                eq(item1.getId()),
+                anyLong(),
+                eq(EnumSet.of(Status.WAITING, Status.APPROVED)),
+                eq(start),
+                eq(end));
+        verify(itemAvailabilityIndex).evict(item1.getId());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void createBookingRejectedByOverlapConstraintTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user2));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item1));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint " +
+                                "\"ex_bookings_item_period\"")));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.createBooking(
+                        BookingMapper.toBookingDto(booking1),
+                        user2.getId()));
+        verify(itemAvailabilityIndex).evict(item1.getId());
+        verify(itemAvailabilityIndex, never()).update(any(), any());
+    }
+
+    @Test
+    void approveOverlappingBookingTest() {
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking1));
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.existsOverlapping(anyLong(), anyLong(), anySet(), any(), any()))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.updateBooking(
+                        booking1.getId(),
+                        true,
+                        user1.getId()));
+
+        assertEquals(Status.WAITING, booking1.getStatus());
+        verify(bookingRepository).existsOverlapping(
+                item1.getId(), booking1.getId(), EnumSet.of(Status.APPROVED), start, end);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void updateBookingTest() {
         when(bookingRepository.findById(anyLong()))
@@ -185,6 +271,8 @@ class BookingServiceTest {
                 true,
                 user1.getId());
 
+        verify(itemAvailabilityIndex).update(booking1, Status.WAITING);
+
         assertEquals(1, bookingDtoResponse.getId());
         assertEquals(start, bookingDtoResponse.getStart());
         assertEquals(end, bookingDtoResponse.getEnd());
@@ -271,6 +359,61 @@ class BookingServiceTest {
         assertEquals(Status.REJECTED, bookingDtoResponse.getStatus());
     }
 
+    @Test
+    void updateBookingRetriesAfterConcurrentUpdateTest() {
+        Booking approvedConcurrently = Booking.builder()
+                .id(1)
+                .start(start)
+                .end(end)
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .version(1)
+                .build();
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking1))
+                .thenReturn(Optional.of(approvedConcurrently));
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        assertThrows(BookingStatusMismatchException.class,
+                () -> bookingService.updateBooking(
+                        booking1.getId(),
+                        false,
+                        user1.getId()));
+
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(itemAvailabilityIndex, never()).update(any(), any());
+    }
+
+    @Test
+    void updateBookingWithPersistentConflictTest() {
+        when(bookingRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(Booking.builder()
+                        .id(1)
+                        .start(start)
+                        .end(end)
+                        .item(item1)
+                        .booker(user2)
+                        .status(Status.WAITING)
+                        .build()));
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class,
+                () -> bookingService.updateBooking(
+                        booking1.getId(),
+                        true,
+                        user1.getId()));
+
+        assertEquals(ErrorHandler.CONCURRENT_UPDATE, exception.getMessage());
+        verify(bookingRepository, times(3)).save(any(Booking.class));
+    }
+
     @Test
     void getBookingTest() {
         when(bookingRepository.findById(anyLong()))
@@ -309,14 +452,21 @@ class BookingServiceTest {
     void getBookingsTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("ALL",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.ALL,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getStatus() == null &&
+                        filter.getStartAfter() == null &&
+                        filter.getEndBefore() == null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -330,18 +480,20 @@ class BookingServiceTest {
     void getBookingsCurrentStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("CURRENT",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.CURRENT,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getStartBefore() != null &&
+                        filter.getEndAfter() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -355,17 +507,19 @@ class BookingServiceTest {
     void getBookingsPastStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("PAST",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.PAST,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getEndBefore() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -379,17 +533,19 @@ class BookingServiceTest {
     void getBookingsFutureStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("FUTURE",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.FUTURE,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getStartAfter() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -403,17 +559,19 @@ class BookingServiceTest {
     void getBookingsWaitingStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                anyLong(),
-                any(Status.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("WAITING",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.WAITING,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getStatus() == Status.WAITING),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -427,17 +585,19 @@ class BookingServiceTest {
     void getBookingsRejectedStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                anyLong(),
-                any(Status.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings("REJECTED",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.REJECTED,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getBookerId() == user1.getId() &&
+                        filter.getStatus() == Status.REJECTED),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -447,32 +607,25 @@ class BookingServiceTest {
         assertEquals(Status.WAITING, bookingDtoResponses.get(0).getStatus());
     }
 
-    @Test
-    void getBookingsUnknownStateTest() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user1));
-
-        BookingStatusMismatchException exception = assertThrows(BookingStatusMismatchException.class,
-                () -> bookingService.getBookings("UNKNOWN",
-                        user1.getId(),
-                        0,
-                        10));
-
-        assertEquals("Unknown state: UNKNOWN", exception.getMessage());
-    }
-
     @Test
     void getItemsOwnerBookingsTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(anyLong(), any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("ALL",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.ALL,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getStatus() == null &&
+                        filter.getStartAfter() == null &&
+                        filter.getEndBefore() == null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -486,18 +639,20 @@ class BookingServiceTest {
     void getItemsOwnerBookingsCurrentStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("CURRENT",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.CURRENT,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getStartBefore() != null &&
+                        filter.getEndAfter() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -511,17 +666,19 @@ class BookingServiceTest {
     void getItemsOwnerBookingsPastStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("PAST",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.PAST,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getEndBefore() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -535,17 +692,19 @@ class BookingServiceTest {
     void getItemsOwnerBookingsFutureStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("FUTURE",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.FUTURE,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getStartAfter() != null),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -559,17 +718,19 @@ class BookingServiceTest {
     void getItemsOwnerBookingsWaitingStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                anyLong(),
-                any(Status.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("WAITING",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.WAITING,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getStatus() == Status.WAITING),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -583,17 +744,19 @@ class BookingServiceTest {
     void getItemsOwnerBookingsRejectedStateTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                anyLong(),
-                any(Status.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByFilter(any(BookingFilter.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking1));
 
-        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings("REJECTED",
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.REJECTED,
                 user1.getId(),
                 0,
                 10);
 
+        verify(bookingRepository).findByFilter(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getStatus() == Status.REJECTED),
+                eq(PageRequest.of(0, 10)));
+
         assertEquals(1, bookingDtoResponses.size());
         assertEquals(1, bookingDtoResponses.get(0).getId());
         assertEquals(start, bookingDtoResponses.get(0).getStart());
@@ -604,16 +767,47 @@ class BookingServiceTest {
     }
 
     @Test
-    void getItemsOwnerBookingsUnknownStateTest() {
+    void getBookingsAfterCursorTest() {
+        PageCursor cursor = PageCursor.of(end, 5);
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user2));
+        when(bookingRepository.findAfterCursor(any(BookingFilter.class), any(PageCursor.class), anyInt()))
+                .thenReturn(List.of(booking1));
+
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getBookings(BookingState.FUTURE,
+                user2.getId(),
+                cursor,
+                10);
+
+        assertEquals(1, bookingDtoResponses.size());
+        assertEquals(1, bookingDtoResponses.get(0).getId());
+        verify(bookingRepository).findAfterCursor(
+                argThat(filter -> filter.getBookerId() == user2.getId() &&
+                        filter.getOwnerId() == null &&
+                        filter.getStartAfter() != null),
+                eq(cursor),
+                eq(10));
+    }
+
+    @Test
+    void getItemsOwnerBookingsAfterCursorTest() {
+        PageCursor cursor = PageCursor.of(end, 5);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.findAfterCursor(any(BookingFilter.class), any(PageCursor.class), anyInt()))
+                .thenReturn(List.of(booking1));
 
-        BookingStatusMismatchException exception = assertThrows(BookingStatusMismatchException.class,
-                () -> bookingService.getItemsOwnerBookings("UNKNOWN",
-                        user1.getId(),
-                        0,
-                        10));
+        List<BookingDtoResponse> bookingDtoResponses = bookingService.getItemsOwnerBookings(BookingState.REJECTED,
+                user1.getId(),
+                cursor,
+                10);
 
-        assertEquals("Unknown state: UNKNOWN", exception.getMessage());
+        assertEquals(1, bookingDtoResponses.size());
+        verify(bookingRepository).findAfterCursor(
+                argThat(filter -> filter.getOwnerId() == user1.getId() &&
+                        filter.getBookerId() == null &&
+                        filter.getStatus() == Status.REJECTED),
+                eq(cursor),
+                eq(10));
     }
-}
\ No newline at end of file
+}
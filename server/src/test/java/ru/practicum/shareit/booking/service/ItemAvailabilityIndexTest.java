@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+
+    private static final EnumSet<Status> BLOCKING = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    private LocalDateTime base;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        base = LocalDateTime.of(2030, 1, 1, 10, 0);
+        booker = new User(2, "Booker name", "booker@mail.com");
+        item = Item.builder()
+                .id(1)
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .owner(new User(1, "Owner name", "owner@mail.com"))
+                .build();
+        itemAvailabilityIndex = new ItemAvailabilityIndex(bookingRepository, Duration.ofMinutes(1), 10_000);
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(anyLong(), anyCollection(), any()))
+                .thenReturn(List.of(
+                        buildBooking(1, 0, 2, Status.APPROVED),
+                        buildBooking(2, 4, 6, Status.WAITING)));
+    }
+
+    @Test
+    void scheduleIsLoadedOnceTest() {
+        assertFalse(isFree(1, 3));
+        assertFalse(isFree(3, 5));
+        assertTrue(isFree(2, 4));
+        assertTrue(isFree(6, 8));
+        verify(bookingRepository, times(1)).findByItemIdAndStatusInAndEndAfter(eq(1L), eq(BLOCKING), any());
+    }
+
+    @Test
+    void evictReloadsScheduleTest() {
+        assertFalse(isFree(1, 3));
+
+        itemAvailabilityIndex.evict(item.getId());
+        assertFalse(isFree(1, 3));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndAfter(eq(1L), eq(BLOCKING), any());
+    }
+
+    @Test
+    void expiredScheduleIsReloadedTest() {
+        itemAvailabilityIndex = new ItemAvailabilityIndex(bookingRepository, Duration.ZERO, 10_000);
+
+        isFree(1, 3);
+        isFree(1, 3);
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndAfter(eq(1L), eq(BLOCKING), any());
+    }
+
+    @Test
+    void scheduleCountIsBoundedTest() {
+        itemAvailabilityIndex = new ItemAvailabilityIndex(bookingRepository, Duration.ofMinutes(1), 1);
+
+        itemAvailabilityIndex.getFreeWindows(item.getId(), base, base.plusHours(1));
+        itemAvailabilityIndex.getFreeWindows(2, base, base.plusHours(1));
+        itemAvailabilityIndex.getFreeWindows(item.getId(), base, base.plusHours(1));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndAfter(eq(1L), eq(BLOCKING), any());
+    }
+
+    @Test
+    void updateMovesBookingBetweenStatusesTest() {
+        Booking waiting = buildBooking(2, 4, 6, Status.APPROVED);
+        itemAvailabilityIndex.update(waiting, Status.WAITING);
+
+        assertFalse(isFree(5, 7));
+
+        waiting.setStatus(Status.CANCELED);
+        itemAvailabilityIndex.update(waiting, Status.APPROVED);
+
+        assertTrue(isFree(4, 7));
+    }
+
+    @Test
+    void updateIgnoresAlreadyIndexedBookingTest() {
+        itemAvailabilityIndex.update(buildBooking(1, 0, 2, Status.APPROVED), null);
+        itemAvailabilityIndex.update(buildBooking(1, 0, 2, Status.REJECTED), Status.APPROVED);
+
+        assertTrue(isFree(0, 2));
+    }
+
+    @Test
+    void getFreeWindowsTest() {
+        itemAvailabilityIndex.update(buildBooking(3, 5, 8, Status.APPROVED), null);
+
+        List<TimeWindowDto> windows = itemAvailabilityIndex.getFreeWindows(
+                1, base.minusHours(1), base.plusHours(10));
+
+        assertEquals(List.of(
+                new TimeWindowDto(base.minusHours(1), base),
+                new TimeWindowDto(base.plusHours(2), base.plusHours(4)),
+                new TimeWindowDto(base.plusHours(8), base.plusHours(10))), windows);
+    }
+
+    @Test
+    void getFreeWindowsInsideBookingTest() {
+        assertEquals(List.of(), itemAvailabilityIndex.getFreeWindows(1, base.plusMinutes(30), base.plusHours(1)));
+        assertEquals(List.of(new TimeWindowDto(base.plusHours(2), base.plusHours(3))),
+                itemAvailabilityIndex.getFreeWindows(1, base.plusHours(1), base.plusHours(3)));
+    }
+
+    @Test
+    void getFreeWindowsFarFutureTest() {
+        LocalDateTime farStart = LocalDateTime.of(3000, 1, 1, 10, 0);
+        itemAvailabilityIndex.update(Booking.builder()
+                .id(3)
+                .start(farStart)
+                .end(farStart.plusHours(2))
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .build(), null);
+
+        assertEquals(List.of(
+                new TimeWindowDto(farStart.minusHours(1), farStart),
+                new TimeWindowDto(farStart.plusHours(2), farStart.plusHours(3))),
+                itemAvailabilityIndex.getFreeWindows(1, farStart.minusHours(1), farStart.plusHours(3)));
+    }
+
+    private boolean isFree(int startHour, int endHour) {
+        LocalDateTime from = base.plusHours(startHour);
+        LocalDateTime to = base.plusHours(endHour);
+        return itemAvailabilityIndex.getFreeWindows(item.getId(), from, to)
+                .equals(List.of(new TimeWindowDto(from, to)));
+    }
+
+    private Booking buildBooking(long id, int startHour, int endHour, Status status) {
+        return Booking.builder()
+                .id(id)
+                .start(base.plusHours(startHour))
+                .end(base.plusHours(endHour))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+}
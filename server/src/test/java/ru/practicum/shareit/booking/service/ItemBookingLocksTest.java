@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemBookingLocksTest {
+
+    private int counter;
+
+    @Test
+    void withItemLockSerializesActionsOnSameItemTest() throws Exception {
+        ItemBookingLocks itemBookingLocks = new ItemBookingLocks(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                for (int j = 0; j < 1000; j++) {
+                    itemBookingLocks.withItemLock(42, () -> counter++);
+                }
+                return null;
+            }));
+        }
+
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(8000, counter);
+    }
+
+    @Test
+    void withItemLockReturnsActionResultTest() {
+        ItemBookingLocks itemBookingLocks = new ItemBookingLocks(4);
+
+        assertEquals("booked", itemBookingLocks.withItemLock(-7, () -> "booked"));
+    }
+}
@@ -7,9 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchErrorDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.model.Comment;
@@ -19,13 +23,16 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -91,6 +98,20 @@ class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(item1Dto)));
     }
 
+    @Test
+    void importItemsTest() throws Exception {
+        ItemBatchResultDto result = new ItemBatchResultDto(1, List.of(new ItemBatchErrorDto(1, "Item name is blank")));
+        when(itemService.importItems(any(InputStream.class), anyLong()))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/items/batch")
+                        .content(mapper.writeValueAsString(item1Dto) + "\n{\"name\": \"\"}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(result)));
+    }
+
     @Test
     void updateItemTest() throws Exception {
         when(itemService.updateItem(anyLong(), anyLong(), any(ItemDto.class)))
@@ -115,6 +136,30 @@ class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(item1DtoBooking)));
     }
 
+    @Test
+    void getItemEtagChangesWithContentTest() throws Exception {
+        when(itemService.getItem(anyLong(), anyLong()))
+                .thenReturn(item1DtoBooking);
+
+        String etag = mockMvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, user1Dto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        item1DtoBooking.setName("Item1 new name");
+        mockMvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, user1Dto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(content().json(mapper.writeValueAsString(item1DtoBooking)));
+    }
+
     @Test
     void getItemsTest() throws Exception {
         when(itemService.getUserItems(anyLong(), anyInt(), anyInt()))
@@ -138,6 +183,35 @@ class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(item1Dto))));
     }
 
+    @Test
+    void suggestItemNamesTest() throws Exception {
+        when(itemService.suggestItemNames(anyString(), anyInt()))
+                .thenReturn(List.of(item1Dto.getName()));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("text", "item")
+                        .param("size", "5")
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(item1Dto.getName()))));
+    }
+
+    @Test
+    void getItemAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        List<TimeWindowDto> windows = List.of(new TimeWindowDto(from.plusHours(2), to));
+        when(itemService.getItemAvailability(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(windows);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00")
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(windows)));
+    }
+
     @Test
     void createComment() throws Exception {
         when(itemService.createComment(any(CommentDto.class), anyLong(), anyLong()))
@@ -70,4 +70,11 @@ class CommentRepositoryTest {
 
         assertEquals(List.of(comment1), comments);
     }
+
+    @Test
+    void findByItemIdInTest() {
+        List<Comment> comments = commentRepository.findByItemIdIn(List.of(item1.getId()));
+
+        assertEquals(List.of(comment1), comments);
+    }
 }
\ No newline at end of file
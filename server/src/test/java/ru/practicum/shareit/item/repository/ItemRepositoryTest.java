@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 class ItemRepositoryTest {
@@ -77,18 +79,90 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrueTest() {
-        String text = "Item1";
-        List<Item> items = itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(
-                text, text, PageRequest.of(0, 10));
+    void searchAvailableTest() {
+        List<Item> items = itemRepository.searchAvailable("item1", "item1%", "%item1%", PageRequest.of(0, 10));
 
         assertEquals(List.of(item1), items);
     }
 
+    @Test
+    void searchAvailableRanksNameMatchesFirstTest() {
+        Item descriptionMatch = itemRepository.save(buildItem("Screwdriver", "Works with a drill bit", true));
+        Item substringMatch = itemRepository.save(buildItem("Cordless drill", "Battery powered", true));
+        Item prefixMatch = itemRepository.save(buildItem("Drill press", "Bench mounted", true));
+        Item exactMatch = itemRepository.save(buildItem("Drill", "Hammer drill", true));
+        itemRepository.save(buildItem("Drill stand", "Not available", false));
+
+        List<Item> items = itemRepository.searchAvailable("drill", "drill%", "%drill%", PageRequest.of(0, 10));
+
+        assertEquals(List.of(exactMatch, prefixMatch, substringMatch, descriptionMatch), items);
+        assertEquals(List.of(substringMatch, descriptionMatch),
+                itemRepository.searchAvailable("drill", "drill%", "%drill%", PageRequest.of(1, 2)));
+    }
+
+    @Test
+    void searchAvailableEscapesWildcardsTest() {
+        Item discount = itemRepository.save(buildItem("Tent 100%", "Waterproof", true));
+
+        List<Item> items = itemRepository.searchAvailable("100%", "100\\%%", "%100\\%%", PageRequest.of(0, 10));
+
+        assertEquals(List.of(discount), items);
+        assertEquals(List.of(), itemRepository.searchAvailable("_", "\\_%", "%\\_%", PageRequest.of(0, 10)));
+    }
+
     @Test
     void findByRequestIdTest() {
         List<Item> items = itemRepository.findByRequestId(itemRequest1.getId());
 
         assertEquals(List.of(item1), items);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByRequestIdInTest() {
+        List<Item> items = itemRepository.findByRequestIdIn(List.of(itemRequest1.getId()));
+
+        assertEquals(List.of(item1), items);
+    }
+
+    @Test
+    void insertAllTest() {
+        List<Item> items = itemRepository.insertAll(List.of(
+                Item.builder().name("Item2 name").description("Item2 description").available(true)
+                        .owner(user1).build(),
+                Item.builder().name("Item3 name").description("Item3 description").available(false)
+                        .owner(user1).request(itemRequest1).build()));
+
+        List<Item> ownerItems = itemRepository.findByOwnerIdOrderById(user1.getId(), PageRequest.of(0, 10));
+
+        assertEquals(3, ownerItems.size());
+        assertEquals(items.get(0).getId(), ownerItems.get(1).getId());
+        assertEquals(items.get(1).getId(), ownerItems.get(2).getId());
+        assertEquals(itemRequest1.getId(), ownerItems.get(2).getRequest().getId());
+    }
+
+    @Test
+    void saveStaleItemVersionTest() {
+        item1.setName("Item1 new name");
+        item1 = itemRepository.saveAndFlush(item1);
+        Item stale = Item.builder()
+                .id(item1.getId())
+                .name("Item1 stale name")
+                .description(item1.getDescription())
+                .available(true)
+                .owner(user1)
+                .version(item1.getVersion() - 1)
+                .build();
+
+        assertEquals(1, item1.getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.save(stale));
+    }
+
+    private Item buildItem(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(user1)
+                .build();
+    }
+}
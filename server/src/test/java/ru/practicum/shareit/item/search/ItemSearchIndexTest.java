@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = new User(1, "Owner name", "owner@mail.com");
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+        when(itemRepository.findByIdGreaterThanOrderById(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(
+                        buildItem(1, "Cordless drill", "Battery powered", true),
+                        buildItem(2, "Screwdriver", "Works with a DRILL bit", true),
+                        buildItem(3, "Drill press", "Bench mounted", true),
+                        buildItem(4, "Drill stand", "Not available", false)));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void rebuildLoadsItemsByIdPagesTest() {
+        assertTrue(itemSearchIndex.isEnabled());
+        verify(itemRepository, times(1)).findByIdGreaterThanOrderById(0, PageRequest.of(0, 1000));
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        assertEquals(List.of(1L, 3L, 2L), itemSearchIndex.search("Drill", 0, 10));
+    }
+
+    @Test
+    void searchMatchesWordPrefixesOfAllTokensTest() {
+        assertEquals(List.of(1L), itemSearchIndex.search("dri batt", 0, 10));
+        assertEquals(List.of(3L), itemSearchIndex.search("BENCH-mount", 0, 10));
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("drill saw", 0, 10));
+        assertEquals(Collections.emptyList(), itemSearchIndex.search(" ,. ", 0, 10));
+    }
+
+    @Test
+    void searchMergesPostingsOfAllExpandedTermsTest() {
+        itemSearchIndex.index(buildItem(5, "Drilling kit", "Drills and drivers", true));
+        itemSearchIndex.index(buildItem(6, "Driver set", "Drive bits", true));
+
+        assertEquals(List.of(1L, 3L, 5L, 6L, 2L), itemSearchIndex.search("dri", 0, 10));
+    }
+
+    @Test
+    void searchExpandsOnlyLongEnoughPrefixesTest() {
+        itemSearchIndex.index(buildItem(5, "A4 paper", "Pack of a4", true));
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("dr", 0, 10));
+        assertEquals(List.of(5L), itemSearchIndex.search("a4", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("a", 0, 10));
+    }
+
+    @Test
+    void searchWithHugeLimitTest() {
+        assertEquals(List.of(1L, 3L, 2L), itemSearchIndex.search("drill", 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void searchPagesByOffsetAndLimitTest() {
+        assertEquals(List.of(1L, 3L), itemSearchIndex.search("drill", 0, 2));
+        assertEquals(List.of(2L), itemSearchIndex.search("drill", 2, 2));
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("drill", 4, 2));
+    }
+
+    @Test
+    void indexTogglesAvailabilityTest() {
+        itemSearchIndex.index(buildItem(4, "Drill stand", "Not available", true));
+        itemSearchIndex.index(buildItem(1, "Cordless drill", "Battery powered", false));
+
+        assertEquals(List.of(3L, 4L, 2L), itemSearchIndex.search("drill", 0, 10));
+    }
+
+    @Test
+    void indexAcceptsIdsBeyondIntRangeTest() {
+        long id = Integer.MAX_VALUE + 10L;
+        itemSearchIndex.index(buildItem(id, "Drill press", "Heavy", true));
+
+        assertEquals(List.of(1L, 3L, id, 2L), itemSearchIndex.search("drill", 0, 10));
+
+        itemSearchIndex.index(buildItem(id, "Drill press", "Heavy", false));
+
+        assertEquals(List.of(1L, 3L, 2L), itemSearchIndex.search("drill", 0, 10));
+    }
+
+    @Test
+    void indexReplacesChangedTermsTest() {
+        itemSearchIndex.index(buildItem(3, "Bench saw", "Bench mounted", true));
+        itemSearchIndex.index(buildItem(5, "Hammer drill", "Brand new", true));
+
+        assertEquals(List.of(1L, 5L, 2L), itemSearchIndex.search("drill", 0, 10));
+        assertEquals(List.of(3L), itemSearchIndex.search("saw", 0, 10));
+    }
+
+    @Test
+    void disabledIndexIgnoresUpdatesTest() {
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, false);
+
+        disabledIndex.rebuild();
+        disabledIndex.index(buildItem(5, "Hammer drill", "Brand new", true));
+
+        assertFalse(disabledIndex.isEnabled());
+        assertEquals(Collections.emptyList(), disabledIndex.search("drill", 0, 10));
+        verify(itemRepository, times(1)).findByIdGreaterThanOrderById(anyLong(), any(PageRequest.class));
+    }
+
+    private Item buildItem(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSuggestionIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSuggestionIndex itemSuggestionIndex;
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = new User(1, "Owner name", "owner@mail.com");
+        itemSuggestionIndex = new ItemSuggestionIndex(itemRepository);
+        when(itemRepository.findByIdGreaterThanOrderById(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(
+                        buildItem(1, "Drill", true),
+                        buildItem(2, "Drill press", true),
+                        buildItem(3, "drill", true),
+                        buildItem(4, "Drum", true),
+                        buildItem(5, "Dress", true),
+                        buildItem(6, "Drill stand", false)));
+        itemSuggestionIndex.rebuild();
+    }
+
+    @Test
+    void suggestRanksByPopularityThenNameTest() {
+        assertEquals(List.of("drill", "Dress", "Drill press", "Drum"), itemSuggestionIndex.suggest("dr", 10));
+        assertEquals(List.of("drill", "Dress"), itemSuggestionIndex.suggest("DR", 2));
+    }
+
+    @Test
+    void suggestWithHugeLimitTest() {
+        assertEquals(List.of("drill", "Dress", "Drill press", "Drum"),
+                itemSuggestionIndex.suggest("dr", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void suggestMatchesPrefixInsideCompressedEdgeTest() {
+        assertEquals(List.of("drill", "Drill press"), itemSuggestionIndex.suggest("dri", 10));
+        assertEquals(List.of("Drill press"), itemSuggestionIndex.suggest("drill p", 10));
+        assertEquals(Collections.emptyList(), itemSuggestionIndex.suggest("drillx", 10));
+        assertEquals(Collections.emptyList(), itemSuggestionIndex.suggest("  ", 10));
+    }
+
+    @Test
+    void indexUpdatesRenamedAndToggledItemsTest() {
+        itemSuggestionIndex.index(buildItem(1, "Dremel", true));
+        itemSuggestionIndex.index(buildItem(3, "drill", false));
+        itemSuggestionIndex.index(buildItem(6, "Drill stand", true));
+
+        assertEquals(List.of("Drill press", "Drill stand"), itemSuggestionIndex.suggest("drill", 10));
+        assertEquals(List.of("Dremel", "Dress"), itemSuggestionIndex.suggest("dre", 10));
+    }
+
+    private Item buildItem(long id, String name, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description("Description")
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -1,41 +1,61 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.TimeWindowDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exceptions.BookingStatusMismatchException;
+import ru.practicum.shareit.exceptions.BookingTimeMismatchException;
+import ru.practicum.shareit.exceptions.ConcurrentUpdateException;
+import ru.practicum.shareit.exceptions.ErrorHandler;
+import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.ItemOwnerMismatchException;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -53,6 +73,14 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemSuggestionIndex itemSuggestionIndex;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     private LocalDateTime now;
     private User user1;
@@ -147,6 +175,133 @@ class ItemServiceTest {
         assertEquals("Item request not found", exception.getMessage());
     }
 
+    @Test
+    void importItemsTest() throws IOException {
+        ItemRequest itemRequest = ItemRequest.builder()
+                .id(5)
+                .description("ItemRequest description")
+                .requestor(user2)
+                .created(now)
+                .build();
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRequestRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemBatchResultDto result = itemService.importItems(rows("["
+                + "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true},"
+                + "{\"name\": \" \", \"description\": \"No name\", \"available\": true},"
+                + "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": false, \"requestId\": 5},"
+                + "{\"name\": \"Ladder\", \"description\": \"Tall\", \"available\": true, \"requestId\": 6}"
+                + "]"), user1.getId());
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Item name is blank", result.getErrors().get(0).getError());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertEquals("Item request not found", result.getErrors().get(1).getError());
+
+        ArgumentCaptor<List<Item>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(1)).findById(user1.getId());
+        verify(itemRequestRepository, times(1)).findAllById(anyIterable());
+        verify(itemRepository, times(1)).insertAll(captor.capture());
+        assertEquals("Drill", captor.getValue().get(0).getName());
+        assertEquals(user1, captor.getValue().get(0).getOwner());
+        assertEquals(itemRequest, captor.getValue().get(1).getRequest());
+    }
+
+    @Test
+    void importItemsFromNdjsonWithMalformedRowsTest() throws IOException {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemBatchResultDto result = itemService.importItems(rows(
+                "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}\n"
+                        + "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": \"maybe\"}\n"
+                        + "{\"name\": \"Ladder\", \"description\": \"Tall\", \"available\": true}\n"
+                        + "{\"name\": \"Hammer\", \"description\": "), user1.getId());
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getError().startsWith("Malformed item"));
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getError().startsWith("Malformed JSON"));
+        verify(itemRequestRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void importItemsWithWrongOwnerTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        ItemOwnerMismatchException exception = assertThrows(ItemOwnerMismatchException.class,
+                () -> itemService.importItems(rows("[]"), user1.getId()));
+
+        assertEquals("User specified as item owner does not exist", exception.getMessage());
+        verify(itemRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void importItemsWithTooLongFieldsTest() throws IOException {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemBatchResultDto result = itemService.importItems(rows("["
+                + "{\"name\": \"" + "a".repeat(256) + "\", \"description\": \"Long name\", \"available\": true},"
+                + "{\"name\": \"Drill\", \"description\": \"" + "a".repeat(513) + "\", \"available\": true},"
+                + "{\"name\": \"Saw\", \"description\": \"" + "a".repeat(512) + "\", \"available\": true}"
+                + "]"), user1.getId());
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(0, result.getErrors().get(0).getRow());
+        assertEquals("Item name is longer than 255 characters", result.getErrors().get(0).getError());
+        assertEquals(1, result.getErrors().get(1).getRow());
+        assertEquals("Item description is longer than 512 characters", result.getErrors().get(1).getError());
+    }
+
+    @Test
+    void importItemsRetriesFailedChunkRowByRowTest() throws IOException {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Item> items = invocation.getArgument(0);
+                    if (items.stream().anyMatch(item -> item.getName().equals("Saw"))) {
+                        items.forEach(item -> item.setId(100));
+                        throw new DataIntegrityViolationException("Value too long");
+                    }
+                    return items;
+                });
+
+        ItemBatchResultDto result = itemService.importItems(rows("["
+                + "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true},"
+                + "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": false},"
+                + "{\"name\": \"Ladder\", \"description\": \"Tall\", \"available\": true}"
+                + "]"), user1.getId());
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Item could not be saved", result.getErrors().get(0).getError());
+
+        ArgumentCaptor<List<Item>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemRepository, times(4)).insertAll(anyList());
+        verify(itemSearchIndex, times(1)).index(captor.capture());
+        assertEquals(List.of("Drill", "Ladder"), captor.getValue().stream()
+                .map(Item::getName)
+                .collect(Collectors.toList()));
+        assertEquals(0, captor.getValue().get(0).getId());
+    }
+
     @Test
     void updateItemTest() {
         when(itemRepository.findById(anyLong()))
@@ -183,6 +338,41 @@ class ItemServiceTest {
         assertEquals("User not an item owner", exception.getMessage());
     }
 
+    @Test
+    void updateItemRetriesAfterConcurrentUpdateTest() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item1));
+        when(itemRepository.save(any(Item.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L))
+                .thenReturn(item1);
+
+        ItemDto itemDto = itemService.updateItem(
+                item1.getId(),
+                user1.getId(),
+                ItemDto.builder().name("Updated name").build());
+
+        assertEquals("Updated name", itemDto.getName());
+        verify(itemRepository, times(2)).findById(item1.getId());
+        verify(itemSearchIndex, times(1)).index(item1);
+    }
+
+    @Test
+    void updateItemWithPersistentConflictTest() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item1));
+        when(itemRepository.save(any(Item.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class,
+                () -> itemService.updateItem(
+                        item1.getId(),
+                        user1.getId(),
+                        ItemMapper.toItemDto(item1)));
+
+        assertEquals(ErrorHandler.CONCURRENT_UPDATE, exception.getMessage());
+        verify(itemRepository, times(3)).save(any(Item.class));
+    }
+
     @Test
     void getItemTest() {
         when(itemRepository.findById(anyLong()))
@@ -219,9 +409,57 @@ class ItemServiceTest {
         assertNull(itemDtoBookings.get(0).getRequest());
     }
 
+    @Test
+    void getUserItemsWithBookingsAndCommentsTest() {
+        Booking booking2 = Booking.builder()
+                .id(2)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .build();
+        when(itemRepository.findByOwnerIdOrderById(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(item1));
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking2));
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking1));
+        when(commentRepository.findByItemIdIn(anyCollection()))
+                .thenReturn(List.of(comment1));
+
+        List<ItemDtoBooking> itemDtoBookings = itemService.getUserItems(
+                user1.getId(),
+                0,
+                20);
+
+        assertEquals(1, itemDtoBookings.size());
+        assertEquals(2, itemDtoBookings.get(0).getLastBooking().getId());
+        assertEquals(1, itemDtoBookings.get(0).getNextBooking().getId());
+        assertEquals(1, itemDtoBookings.get(0).getComments().size());
+        assertEquals("Comment1 text", itemDtoBookings.get(0).getComments().get(0).getText());
+    }
+
+    @Test
+    void getItemFromNotOwnerHidesBookingsTest() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item1));
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking1));
+
+        ItemDtoBooking itemDtoBooking = itemService.getItem(
+                item1.getId(),
+                user2.getId());
+
+        assertNull(itemDtoBooking.getLastBooking());
+        assertNull(itemDtoBooking.getNextBooking());
+        assertEquals(Collections.emptyList(), itemDtoBooking.getComments());
+    }
+
     @Test
     void findItemTest() {
-        when(itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(
+        when(itemRepository.searchAvailable(
+                anyString(),
                 anyString(),
                 anyString(),
                 any(PageRequest.class)))
@@ -241,6 +479,94 @@ class ItemServiceTest {
         assertNull(itemDtos.get(0).getRequestId());
     }
 
+    @Test
+    void findItemFromSearchIndexTest() {
+        Item item2 = Item.builder()
+                .id(2)
+                .name("Item2 name")
+                .description("Item2 description")
+                .available(true)
+                .owner(user2)
+                .build();
+        when(itemSearchIndex.isEnabled())
+                .thenReturn(true);
+        when(itemSearchIndex.search(anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of(2L, 1L));
+        when(itemRepository.findByIdIn(anyCollection()))
+                .thenReturn(List.of(item1, item2));
+
+        List<ItemDto> itemDtos = itemService.findItem("item", 20, 10);
+
+        assertEquals(2, itemDtos.size());
+        assertEquals(2, itemDtos.get(0).getId());
+        assertEquals(1, itemDtos.get(1).getId());
+        verify(itemSearchIndex, times(1)).search("item", 20, 10);
+        verify(itemRepository, never()).searchAvailable(anyString(), anyString(), anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void createItemUpdatesSearchIndexTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRepository.save(any(Item.class)))
+                .thenReturn(item1);
+
+        itemService.createItem(ItemMapper.toItemDto(item1), user1.getId());
+
+        verify(itemSearchIndex, times(1)).index(item1);
+        verify(itemSuggestionIndex, times(1)).index(item1);
+    }
+
+    @Test
+    void suggestItemNamesTest() {
+        when(itemSuggestionIndex.suggest(anyString(), anyInt()))
+                .thenReturn(List.of("Item1 name"));
+
+        assertEquals(List.of("Item1 name"), itemService.suggestItemNames("item", 5));
+        assertEquals(Collections.emptyList(), itemService.suggestItemNames(" ", 5));
+        verify(itemSuggestionIndex, times(1)).suggest("item", 5);
+    }
+
+    @Test
+    void getItemAvailabilityTest() {
+        LocalDateTime from = now.plusDays(1);
+        LocalDateTime to = now.plusDays(3);
+        List<TimeWindowDto> windows = List.of(new TimeWindowDto(from, now.plusDays(2)));
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(itemAvailabilityIndex.getFreeWindows(anyLong(), any(), any())).thenReturn(windows);
+
+        assertEquals(windows, itemService.getItemAvailability(item1.getId(), from, to));
+        verify(itemAvailabilityIndex, times(1)).getFreeWindows(item1.getId(), from, to);
+    }
+
+    @Test
+    void getItemAvailabilityOfUnknownItemTest() {
+        when(itemRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class,
+                () -> itemService.getItemAvailability(99, now, now.plusDays(1)));
+        verify(itemAvailabilityIndex, never()).getFreeWindows(anyLong(), any(), any());
+    }
+
+    @Test
+    void getItemAvailabilityWithWrongPeriodTest() {
+        when(itemRepository.existsById(anyLong())).thenReturn(true);
+
+        assertThrows(BookingTimeMismatchException.class,
+                () -> itemService.getItemAvailability(item1.getId(), now, now));
+    }
+
+    @Test
+    void findItemEscapesWildcardsTest() {
+        itemService.findItem("50%_off\\", 20, 10);
+
+        verify(itemRepository, times(1)).searchAvailable(
+                "50%_off\\",
+                "50\\%\\_off\\\\%",
+                "%50\\%\\_off\\\\%",
+                PageRequest.of(2, 10));
+    }
+
     @Test
     void findItemByEmptyTextTest() {
         List<ItemDto> itemDtos = itemService.findItem(
@@ -296,4 +622,8 @@ class ItemServiceTest {
                 "User did not booked item or booking was rejected or booking not yet finished",
                 exception.getMessage());
     }
-}
\ No newline at end of file
+
+    private static InputStream rows(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exceptions.PageCursorFormatException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecodeTest() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5, 123456000), 42);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeMalformedCursorTest() {
+        PageCursorFormatException exception = assertThrows(PageCursorFormatException.class,
+                () -> PageCursor.decode("bm90LWEtY3Vyc29y"));
+
+        assertEquals("Page cursor is malformed", exception.getMessage());
+    }
+
+    @Test
+    void toResponseTest() {
+        LocalDateTime now = LocalDateTime.now();
+
+        ResponseEntity<List<Long>> fullPage = PageCursor.toResponse(List.of(1L, 2L), 2, id -> PageCursor.of(now, id));
+        ResponseEntity<List<Long>> lastPage = PageCursor.toResponse(List.of(1L), 2, id -> PageCursor.of(now, id));
+
+        assertEquals(PageCursor.of(now, 2).encode(), fullPage.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER));
+        assertNull(lastPage.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
@@ -94,6 +96,29 @@ class ItemRequestControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequest1Dto))));
     }
 
+    @Test
+    void getItemRequestsWithCursorTest() throws Exception {
+        PageCursor cursor = PageCursor.of(itemRequest1Dto.getCreated(), itemRequest1Dto.getId());
+        when(itemRequestService.getItemRequests(anyLong(), any(PageCursor.class), anyInt()))
+                .thenReturn(List.of(itemRequest1Dto));
+
+        mockMvc.perform(get("/requests/all")
+                        .param("cursor", cursor.encode())
+                        .param("size", "1")
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, cursor.encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequest1Dto))));
+    }
+
+    @Test
+    void getItemRequestsWithMalformedCursorTest() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .param("cursor", "not a cursor")
+                        .header(USER_ID_HEADER, user1Dto.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getItemRequestTest() throws Exception {
         when(itemRequestService.getItemRequest(anyLong(), anyLong()))
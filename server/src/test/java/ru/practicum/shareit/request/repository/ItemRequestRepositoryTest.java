@@ -5,11 +5,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,14 +27,17 @@ class ItemRequestRepositoryTest {
     private UserRepository userRepository;
 
 
+    private LocalDateTime now;
     private User user1;
+    private User user2;
     private ItemRequest itemRequest1;
 
     @BeforeEach
     void beforeEach() {
-        LocalDateTime now = LocalDateTime.now();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         user1 = new User(1, "User1 name", "user1@mail.com");
         user1 = userRepository.save(user1);
+        user2 = userRepository.save(new User(2, "User2 name", "user2@mail.com"));
 
         itemRequest1 = ItemRequest.builder()
                 .id(1)
@@ -44,8 +50,8 @@ class ItemRequestRepositoryTest {
 
     @AfterEach
     void afterEach() {
-        userRepository.deleteAll();
         itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
     }
 
     @Test
@@ -54,4 +60,44 @@ class ItemRequestRepositoryTest {
 
         assertEquals(List.of(itemRequest1), itemRequests);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByRequestorIdNotOrderByCreatedDescIdDescTest() {
+        ItemRequest itemRequest2 = itemRequestRepository.save(ItemRequest.builder()
+                .description("ItemRequest2 description")
+                .requestor(user2)
+                .created(now.plusHours(1))
+                .build());
+
+        assertEquals(List.of(itemRequest2, itemRequest1),
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(
+                        user2.getId() + 1, PageRequest.of(0, 10)));
+        assertEquals(List.of(itemRequest2),
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(
+                        user1.getId(), PageRequest.of(0, 10)));
+        assertEquals(List.of(itemRequest1),
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(
+                        user2.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findByRequestorIdNotAfterCursorOrderByCreatedDescTest() {
+        ItemRequest itemRequest2 = itemRequestRepository.save(ItemRequest.builder()
+                .description("ItemRequest2 description")
+                .requestor(user1)
+                .created(itemRequest1.getCreated())
+                .build());
+
+        List<ItemRequest> firstPage = itemRequestRepository.findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                user2.getId(), now.plusDays(1), 0, PageRequest.of(0, 1));
+        assertEquals(List.of(itemRequest2), firstPage);
+
+        List<ItemRequest> secondPage = itemRequestRepository.findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                user2.getId(), itemRequest2.getCreated(), itemRequest2.getId(), PageRequest.of(0, 1));
+        assertEquals(List.of(itemRequest1), secondPage);
+
+        List<ItemRequest> lastPage = itemRequestRepository.findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                user2.getId(), itemRequest1.getCreated(), itemRequest1.getId(), PageRequest.of(0, 1));
+        assertEquals(Collections.emptyList(), lastPage);
+    }
+}
@@ -8,12 +8,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exceptions.ItemOwnerMismatchException;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -29,7 +30,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -117,6 +120,32 @@ class ItemRequestServiceTest {
         assertEquals(Collections.emptyList(), itemRequestDtos.get(0).getItems());
     }
 
+    @Test
+    void getUserItemRequestsWithItemsTest() {
+        Item item1 = Item.builder()
+                .id(1)
+                .name("Item1 name")
+                .description("Item1 description")
+                .available(true)
+                .owner(user2)
+                .request(itemRequest1)
+                .build();
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(itemRequestRepository.findByRequestorIdOrderByCreated(anyLong()))
+                .thenReturn(List.of(itemRequest1));
+        when(itemRepository.findByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(item1));
+
+        List<ItemRequestDto> itemRequestDtos = itemRequestService.getUserItemRequests(
+                user1.getId());
+
+        assertEquals(1, itemRequestDtos.size());
+        assertEquals(1, itemRequestDtos.get(0).getItems().size());
+        assertEquals(1, itemRequestDtos.get(0).getItems().get(0).getId());
+        assertEquals(1, itemRequestDtos.get(0).getItems().get(0).getRequestId());
+    }
+
     @Test
     void getUserItemRequestsWrongUserTest() {
         when(userRepository.findById(anyLong()))
@@ -133,8 +162,8 @@ class ItemRequestServiceTest {
     void getItemRequestsTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user2));
-        when(itemRequestRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest1)));
+        when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(itemRequest1));
 
         List<ItemRequestDto> itemRequestDtos = itemRequestService.getItemRequests(
                 user2.getId(),
@@ -153,8 +182,8 @@ class ItemRequestServiceTest {
     void getItemRequestsFromRequestOwnerTest() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
-        when(itemRequestRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest1)));
+        when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(anyLong(), any(PageRequest.class)))
+                .thenReturn(Collections.emptyList());
 
         List<ItemRequestDto> itemRequestDtos = itemRequestService.getItemRequests(
                 user1.getId(),
@@ -162,6 +191,32 @@ class ItemRequestServiceTest {
                 10);
 
         assertEquals(Collections.emptyList(), itemRequestDtos);
+        verify(itemRequestRepository).findByRequestorIdNotOrderByCreatedDescIdDesc(
+                user1.getId(),
+                PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getItemRequestsAfterCursorTest() {
+        when(itemRequestRepository.findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                anyLong(),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(PageRequest.class)))
+                .thenReturn(List.of(itemRequest1));
+
+        List<ItemRequestDto> itemRequestDtos = itemRequestService.getItemRequests(
+                user2.getId(),
+                PageCursor.of(now.plusDays(1), 5),
+                10);
+
+        assertEquals(1, itemRequestDtos.size());
+        assertEquals(1, itemRequestDtos.get(0).getId());
+        verify(itemRequestRepository).findByRequestorIdNotAfterCursorOrderByCreatedDesc(
+                user2.getId(),
+                now.plusDays(1),
+                5,
+                PageRequest.of(0, 10));
     }
 
     @Test
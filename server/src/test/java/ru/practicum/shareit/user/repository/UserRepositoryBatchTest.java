@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepositoryBatchTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllBatchesInsertsTest() {
+        List<User> users = IntStream.range(0, 20)
+                .mapToObj(i -> new User(0, "User" + i, "user" + i + "@mail.com"))
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+        entityManager.flush();
+
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, users.stream().map(User::getId).distinct().count());
+    }
+}